@@ -0,0 +1,8 @@
+package android.os;
+
+// JVM stub: there is no main looper outside Android.
+public final class Looper {
+  public static Looper getMainLooper() {
+    return null;
+  }
+}
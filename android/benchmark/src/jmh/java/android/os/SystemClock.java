@@ -0,0 +1,18 @@
+package android.os;
+
+// JVM stub backed by a fake clock that benchmarks advance explicitly.
+public final class SystemClock {
+  private static long now = 0;
+
+  public static void setCurrentTimeMillis(long time) {
+    now = time;
+  }
+
+  public static long elapsedRealtime() {
+    return now;
+  }
+
+  public static long uptimeMillis() {
+    return now;
+  }
+}
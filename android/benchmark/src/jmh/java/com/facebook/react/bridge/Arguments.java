@@ -0,0 +1,12 @@
+package com.facebook.react.bridge;
+
+// JVM stub: allocates Java-backed maps instead of native ones.
+public class Arguments {
+  public static WritableMap createMap() {
+    return new JavaOnlyMap();
+  }
+
+  public static WritableArray createArray() {
+    return new JavaOnlyArray();
+  }
+}
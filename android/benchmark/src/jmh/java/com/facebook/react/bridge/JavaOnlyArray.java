@@ -0,0 +1,11 @@
+package com.facebook.react.bridge;
+
+import java.util.ArrayList;
+
+// JVM stub: React Native's Java-backed array.
+public class JavaOnlyArray extends ArrayList<Object> implements WritableArray {
+  @Override
+  public void pushMap(WritableMap value) {
+    add(value);
+  }
+}
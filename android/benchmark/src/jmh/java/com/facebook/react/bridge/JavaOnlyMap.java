@@ -0,0 +1,21 @@
+package com.facebook.react.bridge;
+
+import java.util.HashMap;
+
+// JVM stub: React Native's Java-backed map.
+public class JavaOnlyMap extends HashMap<String, Object> implements WritableMap {
+  @Override
+  public void putString(String key, String value) {
+    put(key, value);
+  }
+
+  @Override
+  public void putDouble(String key, double value) {
+    put(key, value);
+  }
+
+  @Override
+  public void putArray(String key, WritableArray value) {
+    put(key, value);
+  }
+}
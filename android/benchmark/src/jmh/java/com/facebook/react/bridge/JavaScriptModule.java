@@ -0,0 +1,5 @@
+package com.facebook.react.bridge;
+
+// JVM stub.
+public interface JavaScriptModule {
+}
@@ -0,0 +1,20 @@
+package com.facebook.react.bridge;
+
+import com.facebook.react.modules.core.DeviceEventManagerModule;
+
+// JVM stub whose only JS module is the device event emitter passed in.
+public class ReactContext {
+  private final DeviceEventManagerModule.RCTDeviceEventEmitter emitter;
+
+  public ReactContext(DeviceEventManagerModule.RCTDeviceEventEmitter emitter) {
+    this.emitter = emitter;
+  }
+
+  public boolean hasActiveReactInstance() {
+    return true;
+  }
+
+  public <T extends JavaScriptModule> T getJSModule(Class<T> jsInterface) {
+    return jsInterface.cast(emitter);
+  }
+}
@@ -0,0 +1,7 @@
+package com.facebook.react.bridge;
+
+// JVM stub with the subset of the React Native interface the benchmarked
+// classes use.
+public interface WritableArray {
+  void pushMap(WritableMap value);
+}
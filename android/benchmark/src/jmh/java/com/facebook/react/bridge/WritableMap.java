@@ -0,0 +1,9 @@
+package com.facebook.react.bridge;
+
+// JVM stub with the subset of the React Native interface the benchmarked
+// classes use.
+public interface WritableMap {
+  void putString(String key, String value);
+  void putDouble(String key, double value);
+  void putArray(String key, WritableArray value);
+}
@@ -0,0 +1,71 @@
+package com.playback;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class EventRegistryBenchmark {
+  @Param({"1", "16", "64"})
+  public int playerCount;
+
+  private String[] playerIds;
+  private int index;
+
+  @Setup(Level.Trial)
+  public void setup() {
+    EventRegistry.clear();
+    EventRegistry.addListener();
+    playerIds = new String[playerCount];
+    for (int i = 0; i < playerCount; i++) {
+      playerIds[i] = "player-" + i;
+      EventRegistry.setSubscriptions(playerIds[i], Arrays.asList("ON_PLAY", "ON_PAUSE", "ON_PROGRESS"));
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    EventRegistry.clear();
+  }
+
+  private String nextPlayerId() {
+    index = (index + 1) % playerIds.length;
+    return playerIds[index];
+  }
+
+  @Benchmark
+  public boolean subscribedLookup() {
+    return EventRegistry.isSubscribed(nextPlayerId(), "ON_PROGRESS");
+  }
+
+  @Benchmark
+  public boolean unsubscribedLookup() {
+    return EventRegistry.isSubscribed(nextPlayerId(), "ON_METRICS");
+  }
+
+  // The path Player.createEvent takes for an event with listeners.
+  @Benchmark
+  public WritableMap subscribedEvent() {
+    return EventRegistry.createEvent(nextPlayerId(), "ON_PROGRESS");
+  }
+
+  // An event nobody listens for should return before allocating a payload.
+  @Benchmark
+  public WritableMap unsubscribedEvent() {
+    return EventRegistry.createEvent(nextPlayerId(), "ON_METRICS");
+  }
+}
@@ -0,0 +1,75 @@
+package com.playback;
+
+import android.os.SystemClock;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class FadeEngineBenchmark {
+  // Long enough that no fade finishes within an iteration.
+  private static final long DURATION_MS = 24 * 60 * 60 * 1000L;
+
+  @Param({"LINEAR", "EXPONENTIAL", "EQUAL_POWER"})
+  public FadeCurve curve;
+
+  @Param({"1", "8"})
+  public int crossfadeCount;
+
+  private FakeTarget[] targets;
+  private long now;
+
+  private static class FakeTarget implements FadeTarget {
+    float volume = 1;
+
+    @Override
+    public void applyFadeVolume(float volume) {
+      this.volume = volume;
+    }
+
+    @Override
+    public float getAppliedVolume() {
+      return volume;
+    }
+  }
+
+  // Each crossfade is an outgoing and an incoming fade sharing a start time.
+  @Setup(Level.Iteration)
+  public void setup() {
+    now = 0;
+    SystemClock.setCurrentTimeMillis(now);
+    targets = new FakeTarget[crossfadeCount * 2];
+    for (int i = 0; i < targets.length; i++)
+      targets[i] = new FakeTarget();
+    for (int i = 0; i < crossfadeCount; i++) {
+      FadeEngine.start(targets[i * 2], 1, 0, DURATION_MS, curve, now, (volume, cancelled) -> {});
+      FadeEngine.start(targets[i * 2 + 1], 0, 1, DURATION_MS, curve, now, (volume, cancelled) -> {});
+    }
+  }
+
+  @TearDown(Level.Iteration)
+  public void tearDown() {
+    for (FakeTarget target : targets)
+      FadeEngine.cancel(target);
+  }
+
+  @Benchmark
+  public float tick() {
+    now += FadeEngine.TICK_INTERVAL_MS;
+    SystemClock.setCurrentTimeMillis(now);
+    FadeEngine.tick(now);
+    return targets[0].volume;
+  }
+}
@@ -0,0 +1,103 @@
+package com.playback;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.facebook.react.bridge.ReactContext;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ProgressSchedulerBenchmark {
+  private static final int INTERVAL_MS = 250;
+  private static final long DURATION_MS = 60000;
+
+  @Param({"1", "16"})
+  public int playerCount;
+
+  private FakePlayer[] players;
+  private long now;
+
+  // Stands in for Player, whose position comes from ExoPlayer. Polling goes
+  // through the same ProgressTracker that Player uses.
+  private static class FakePlayer implements ProgressClient {
+    final String playerId;
+    final ProgressTracker progressTracker = new ProgressTracker();
+    long position = 0;
+
+    FakePlayer(String playerId) {
+      this.playerId = playerId;
+      progressTracker.setIntervalMs(INTERVAL_MS);
+    }
+
+    @Override
+    public int getSchedulerInterval() {
+      return progressTracker.getIntervalMs();
+    }
+
+    @Override
+    public void updateSnapshot() {
+    }
+
+    @Override
+    public void pollMetrics(long now, long toleranceMs) {
+    }
+
+    @Override
+    public WritableMap pollProgress(long now, long toleranceMs) {
+      return progressTracker.poll(playerId, now, toleranceMs, true, position, DURATION_MS);
+    }
+  }
+
+  @Setup(Level.Trial)
+  public void setup(Blackhole blackhole) {
+    ProgressScheduler.setContext(new ReactContext((eventName, data) -> blackhole.consume(data)));
+    EventRegistry.clear();
+    EventRegistry.addListener();
+    players = new FakePlayer[playerCount];
+    for (int i = 0; i < playerCount; i++) {
+      players[i] = new FakePlayer("player-" + i);
+      EventRegistry.setSubscriptions(players[i].playerId, Arrays.asList("ON_PLAY", "ON_PAUSE", "ON_PROGRESS"));
+      ProgressScheduler.register(players[i]);
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() {
+    for (FakePlayer player : players)
+      ProgressScheduler.unregister(player);
+    ProgressScheduler.setContext(null);
+    EventRegistry.clear();
+  }
+
+  // Every player is due and has moved, so each one contributes an entry to
+  // the batched event.
+  @Benchmark
+  public void tickWithProgress() {
+    now += INTERVAL_MS;
+    for (FakePlayer player : players)
+      player.position += INTERVAL_MS;
+    ProgressScheduler.tick(now);
+  }
+
+  // Positions did not change, e.g. while buffering; no payload should be
+  // built and nothing emitted.
+  @Benchmark
+  public void tickWithoutProgress() {
+    now += INTERVAL_MS;
+    ProgressScheduler.tick(now);
+  }
+}
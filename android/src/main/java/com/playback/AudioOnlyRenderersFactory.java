@@ -0,0 +1,39 @@
+package com.playback;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.OptIn;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.exoplayer.DefaultRenderersFactory;
+import androidx.media3.exoplayer.Renderer;
+import androidx.media3.exoplayer.mediacodec.MediaCodecSelector;
+import androidx.media3.exoplayer.text.TextOutput;
+import androidx.media3.exoplayer.video.VideoRendererEventListener;
+
+import java.util.ArrayList;
+
+// Builds only the platform audio and metadata renderers: no video, text or
+// camera motion renderers, and no software extension decoders.
+@OptIn(markerClass = UnstableApi.class)
+public class AudioOnlyRenderersFactory extends DefaultRenderersFactory {
+  public AudioOnlyRenderersFactory(Context context) {
+    super(context);
+    setEnableDecoderFallback(true);
+    setExtensionRendererMode(EXTENSION_RENDERER_MODE_OFF);
+  }
+
+  @Override
+  protected void buildVideoRenderers(@NonNull Context context, int extensionRendererMode, @NonNull MediaCodecSelector mediaCodecSelector, boolean enableDecoderFallback, @NonNull Handler eventHandler, @NonNull VideoRendererEventListener eventListener, long allowedVideoJoiningTimeMs, @NonNull ArrayList<Renderer> out) {
+  }
+
+  @Override
+  protected void buildTextRenderers(@NonNull Context context, @NonNull TextOutput output, @NonNull Looper outputLooper, int extensionRendererMode, @NonNull ArrayList<Renderer> out) {
+  }
+
+  @Override
+  protected void buildCameraMotionRenderers(@NonNull Context context, int extensionRendererMode, @NonNull ArrayList<Renderer> out) {
+  }
+}
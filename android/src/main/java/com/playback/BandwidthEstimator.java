@@ -0,0 +1,76 @@
+package com.playback;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
+import androidx.annotation.OptIn;
+import androidx.media3.common.C;
+import androidx.media3.common.util.NetworkTypeObserver;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.exoplayer.upstream.DefaultBandwidthMeter;
+
+public class BandwidthEstimator {
+  private static final String PREFERENCES_NAME = "playback-bandwidth";
+  private static final long PERSIST_INTERVAL_MS = 10000;
+  private static final int[] NETWORK_TYPES = {
+    C.NETWORK_TYPE_WIFI,
+    C.NETWORK_TYPE_ETHERNET,
+    C.NETWORK_TYPE_2G,
+    C.NETWORK_TYPE_3G,
+    C.NETWORK_TYPE_4G,
+    C.NETWORK_TYPE_5G_NSA,
+    C.NETWORK_TYPE_5G_SA,
+    C.NETWORK_TYPE_OTHER
+  };
+
+  private static DefaultBandwidthMeter bandwidthMeter;
+  private static long lastPersistTime = 0;
+
+  @OptIn(markerClass = UnstableApi.class)
+  public static synchronized DefaultBandwidthMeter getBandwidthMeter(Context context) {
+    if (bandwidthMeter == null) {
+      Context appContext = context.getApplicationContext();
+      SharedPreferences preferences = appContext.getSharedPreferences(PREFERENCES_NAME, Context.MODE_PRIVATE);
+      DefaultBandwidthMeter.Builder builder = new DefaultBandwidthMeter.Builder(appContext);
+      for (int networkType : NETWORK_TYPES) {
+        long estimate = preferences.getLong(getKey(networkType), 0);
+        if (estimate > 0)
+          builder.setInitialBitrateEstimate(networkType, estimate);
+      }
+      bandwidthMeter = builder.build();
+      bandwidthMeter.addEventListener(
+        new Handler(Looper.getMainLooper()),
+        (elapsedMs, bytesTransferred, bitrateEstimate) -> persist(appContext, bitrateEstimate)
+      );
+    }
+    return bandwidthMeter;
+  }
+
+  @OptIn(markerClass = UnstableApi.class)
+  public static long getBitrateEstimate(Context context) {
+    return getBandwidthMeter(context).getBitrateEstimate();
+  }
+
+  @OptIn(markerClass = UnstableApi.class)
+  public static int getNetworkType(Context context) {
+    return NetworkTypeObserver.getInstance(context.getApplicationContext()).getNetworkType();
+  }
+
+  private static void persist(Context context, long bitrateEstimate) {
+    long now = SystemClock.elapsedRealtime();
+    if (bitrateEstimate <= 0 || now - lastPersistTime < PERSIST_INTERVAL_MS)
+      return;
+    lastPersistTime = now;
+    context.getSharedPreferences(PREFERENCES_NAME, Context.MODE_PRIVATE)
+      .edit()
+      .putLong(getKey(getNetworkType(context)), bitrateEstimate)
+      .apply();
+  }
+
+  private static String getKey(int networkType) {
+    return "bitrateEstimate_" + networkType;
+  }
+}
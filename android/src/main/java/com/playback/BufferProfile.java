@@ -0,0 +1,158 @@
+package com.playback;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.OptIn;
+import androidx.media3.common.C;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.exoplayer.DefaultLoadControl;
+
+import com.facebook.react.bridge.ReadableMap;
+
+@OptIn(markerClass = UnstableApi.class)
+public class BufferProfile {
+  public static final String PRESET_DEFAULT = "default";
+  public static final String PRESET_LOW_LATENCY_START = "lowLatencyStart";
+  public static final String PRESET_MEMORY_SAVER = "memorySaver";
+
+  public static final BufferProfile DEFAULT = new BufferProfile(
+    DefaultLoadControl.DEFAULT_MIN_BUFFER_MS,
+    DefaultLoadControl.DEFAULT_MAX_BUFFER_MS,
+    DefaultLoadControl.DEFAULT_BUFFER_FOR_PLAYBACK_MS,
+    DefaultLoadControl.DEFAULT_BUFFER_FOR_PLAYBACK_AFTER_REBUFFER_MS,
+    DefaultLoadControl.DEFAULT_BACK_BUFFER_DURATION_MS,
+    DefaultLoadControl.DEFAULT_TARGET_BUFFER_BYTES,
+    DefaultLoadControl.DEFAULT_PRIORITIZE_TIME_OVER_SIZE_THRESHOLDS
+  );
+
+  public static final BufferProfile LOW_LATENCY_START = new BufferProfile(
+    15000,
+    30000,
+    500,
+    1500,
+    0,
+    C.LENGTH_UNSET,
+    true
+  );
+
+  public static final BufferProfile MEMORY_SAVER = new BufferProfile(
+    5000,
+    15000,
+    1000,
+    2000,
+    0,
+    4 * 1024 * 1024,
+    false
+  );
+
+  public final int minBufferMs;
+  public final int maxBufferMs;
+  public final int bufferForPlaybackMs;
+  public final int bufferForPlaybackAfterRebufferMs;
+  public final int backBufferMs;
+  public final int targetBufferBytes;
+  public final boolean prioritizeTimeOverSize;
+
+  public BufferProfile(int minBufferMs, int maxBufferMs, int bufferForPlaybackMs, int bufferForPlaybackAfterRebufferMs, int backBufferMs, int targetBufferBytes, boolean prioritizeTimeOverSize) {
+    this.minBufferMs = minBufferMs;
+    this.maxBufferMs = maxBufferMs;
+    this.bufferForPlaybackMs = bufferForPlaybackMs;
+    this.bufferForPlaybackAfterRebufferMs = bufferForPlaybackAfterRebufferMs;
+    this.backBufferMs = backBufferMs;
+    this.targetBufferBytes = targetBufferBytes;
+    this.prioritizeTimeOverSize = prioritizeTimeOverSize;
+  }
+
+  public static BufferProfile fromPreset(@Nullable String preset) {
+    if (preset == null)
+      return DEFAULT;
+    switch (preset) {
+      case PRESET_LOW_LATENCY_START:
+        return LOW_LATENCY_START;
+      case PRESET_MEMORY_SAVER:
+        return MEMORY_SAVER;
+      case PRESET_DEFAULT:
+        return DEFAULT;
+      default:
+        throw new IllegalArgumentException("unknown buffer preset " + preset);
+    }
+  }
+
+  public static BufferProfile fromReadableMap(@Nullable ReadableMap map) {
+    if (map == null)
+      return DEFAULT;
+    BufferProfile base = fromPreset(map.hasKey("preset") ? map.getString("preset") : null);
+    BufferProfile profile = new BufferProfile(
+      map.hasKey("minBufferMs") ? map.getInt("minBufferMs") : base.minBufferMs,
+      map.hasKey("maxBufferMs") ? map.getInt("maxBufferMs") : base.maxBufferMs,
+      map.hasKey("bufferForPlaybackMs") ? map.getInt("bufferForPlaybackMs") : base.bufferForPlaybackMs,
+      map.hasKey("bufferForPlaybackAfterRebufferMs") ? map.getInt("bufferForPlaybackAfterRebufferMs") : base.bufferForPlaybackAfterRebufferMs,
+      map.hasKey("backBufferMs") ? map.getInt("backBufferMs") : base.backBufferMs,
+      map.hasKey("targetBufferBytes") ? map.getInt("targetBufferBytes") : base.targetBufferBytes,
+      map.hasKey("prioritizeTimeOverSize") ? map.getBoolean("prioritizeTimeOverSize") : base.prioritizeTimeOverSize
+    );
+    profile.validate();
+    return profile;
+  }
+
+  public BufferProfile withTargetBufferBytes(int targetBufferBytes) {
+    BufferProfile profile = new BufferProfile(minBufferMs, maxBufferMs, bufferForPlaybackMs, bufferForPlaybackAfterRebufferMs, backBufferMs, targetBufferBytes, prioritizeTimeOverSize);
+    profile.validate();
+    return profile;
+  }
+
+  public static void validateTargetBufferBytes(int targetBufferBytes) {
+    if (targetBufferBytes != C.LENGTH_UNSET && targetBufferBytes <= 0)
+      throw new IllegalArgumentException("targetBufferBytes must be positive");
+  }
+
+  public boolean isDefault() {
+    return equals(DEFAULT);
+  }
+
+  public DefaultLoadControl buildLoadControl() {
+    return new DefaultLoadControl.Builder()
+      .setBufferDurationsMs(minBufferMs, maxBufferMs, bufferForPlaybackMs, bufferForPlaybackAfterRebufferMs)
+      .setBackBuffer(backBufferMs, false)
+      .setTargetBufferBytes(targetBufferBytes)
+      .setPrioritizeTimeOverSizeThresholds(prioritizeTimeOverSize)
+      .build();
+  }
+
+  private void validate() {
+    if (bufferForPlaybackMs < 0 || bufferForPlaybackAfterRebufferMs < 0 || backBufferMs < 0)
+      throw new IllegalArgumentException("buffer durations must be positive");
+    if (bufferForPlaybackMs > minBufferMs || bufferForPlaybackAfterRebufferMs > minBufferMs)
+      throw new IllegalArgumentException("bufferForPlaybackMs and bufferForPlaybackAfterRebufferMs must not exceed minBufferMs");
+    if (minBufferMs > maxBufferMs)
+      throw new IllegalArgumentException("minBufferMs must not exceed maxBufferMs");
+    validateTargetBufferBytes(targetBufferBytes);
+  }
+
+  @Override
+  public boolean equals(Object o) {
+    if (this == o)
+      return true;
+    if (!(o instanceof BufferProfile))
+      return false;
+    BufferProfile other = (BufferProfile) o;
+    return minBufferMs == other.minBufferMs
+      && maxBufferMs == other.maxBufferMs
+      && bufferForPlaybackMs == other.bufferForPlaybackMs
+      && bufferForPlaybackAfterRebufferMs == other.bufferForPlaybackAfterRebufferMs
+      && backBufferMs == other.backBufferMs
+      && targetBufferBytes == other.targetBufferBytes
+      && prioritizeTimeOverSize == other.prioritizeTimeOverSize;
+  }
+
+  @Override
+  public int hashCode() {
+    int result = minBufferMs;
+    result = 31 * result + maxBufferMs;
+    result = 31 * result + bufferForPlaybackMs;
+    result = 31 * result + bufferForPlaybackAfterRebufferMs;
+    result = 31 * result + backBufferMs;
+    result = 31 * result + targetBufferBytes;
+    result = 31 * result + (prioritizeTimeOverSize ? 1 : 0);
+    return result;
+  }
+}
@@ -0,0 +1,87 @@
+package com.playback;
+
+import android.media.MediaCodecInfo;
+import android.media.MediaCodecList;
+import android.os.Build;
+
+import androidx.media3.common.MimeTypes;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+// Caps how many players may hold a video decoder at once. Players are ranked
+// playing first, then by the on-screen area of their bound views; the rest
+// keep playing audio with the video track disabled. Main thread only.
+public class CodecBudget {
+  public static final int FALLBACK_MAX_VIDEO_DECODERS = 4;
+
+  private static int maxVideoDecoders = -1;
+  private static boolean scheduled = false;
+
+  public static void setMaxVideoDecoders(int max) {
+    maxVideoDecoders = Math.max(0, max);
+    invalidate();
+  }
+
+  public static int getMaxVideoDecoders() {
+    if (maxVideoDecoders < 0)
+      maxVideoDecoders = detectMaxVideoDecoders();
+    return maxVideoDecoders;
+  }
+
+  public static void invalidate() {
+    if (scheduled)
+      return;
+    scheduled = true;
+    PlayerThread.post(CodecBudget::rebalance);
+  }
+
+  private static void rebalance() {
+    scheduled = false;
+    int max = getMaxVideoDecoders();
+    List<Player> candidates = new ArrayList<>();
+    for (Player player : PlaybackModule.players.values()) {
+      if (player.needsVideoDecoder())
+        candidates.add(player);
+      else
+        player.setVideoBudgetLimited(false);
+    }
+    Collections.sort(candidates, (a, b) -> {
+      boolean aPlaying = a.player.isPlaying();
+      boolean bPlaying = b.player.isPlaying();
+      if (aPlaying != bPlaying)
+        return aPlaying ? -1 : 1;
+      return Long.compare(b.getVideoPriority(), a.getVideoPriority());
+    });
+    for (int i = 0; i < candidates.size(); i++)
+      candidates.get(i).setVideoBudgetLimited(max > 0 && i >= max);
+  }
+
+  private static int detectMaxVideoDecoders() {
+    if (Build.VERSION.SDK_INT < Build.VERSION_CODES.M)
+      return FALLBACK_MAX_VIDEO_DECODERS;
+    int max = 0;
+    try {
+      for (MediaCodecInfo info : new MediaCodecList(MediaCodecList.REGULAR_CODECS).getCodecInfos()) {
+        if (info.isEncoder() || !isHardware(info))
+          continue;
+        for (String type : info.getSupportedTypes()) {
+          if (!MimeTypes.VIDEO_H264.equalsIgnoreCase(type))
+            continue;
+          max = Math.max(max, info.getCapabilitiesForType(type).getMaxSupportedInstances());
+        }
+      }
+    } catch (RuntimeException e) {
+      return FALLBACK_MAX_VIDEO_DECODERS;
+    }
+    return max > 0 ? max : FALLBACK_MAX_VIDEO_DECODERS;
+  }
+
+  private static boolean isHardware(MediaCodecInfo info) {
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.Q)
+      return info.isHardwareAccelerated();
+    String name = info.getName();
+    return !name.startsWith("OMX.google.") && !name.startsWith("c2.android.");
+  }
+}
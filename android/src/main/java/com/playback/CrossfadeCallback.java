@@ -0,0 +1,6 @@
+package com.playback;
+
+public interface CrossfadeCallback {
+  void onStart();
+  void onError(String code, String message);
+}
@@ -0,0 +1,6 @@
+package com.playback;
+
+public interface DownloadCallback {
+  void onQueued(String downloadId);
+  void onError(String code, String message);
+}
@@ -0,0 +1,352 @@
+package com.playback;
+
+import android.content.ComponentName;
+import android.content.Context;
+import android.content.pm.PackageManager;
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.OptIn;
+import androidx.media3.common.MediaItem;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.common.util.Util;
+import androidx.media3.database.StandaloneDatabaseProvider;
+import androidx.media3.datasource.cache.CacheDataSource;
+import androidx.media3.datasource.cache.NoOpCacheEvictor;
+import androidx.media3.datasource.cache.SimpleCache;
+import androidx.media3.exoplayer.DefaultRenderersFactory;
+import androidx.media3.exoplayer.offline.Download;
+import androidx.media3.exoplayer.offline.DownloadCursor;
+import androidx.media3.exoplayer.offline.DownloadHelper;
+import androidx.media3.exoplayer.offline.DownloadManager;
+import androidx.media3.exoplayer.offline.DownloadRequest;
+import androidx.media3.exoplayer.offline.DownloadService;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.ReactContext;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.modules.core.DeviceEventManagerModule;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+// Offline downloads on top of media3's DownloadManager, stored in their own
+// cache so media cache eviction never touches them. Priority is applied by
+// stopping lower priority downloads while the parallel cap is reached; it is
+// kept in the request data so it survives process death. Main thread only,
+// except for the completed download lookup.
+@OptIn(markerClass = UnstableApi.class)
+public class DownloadStore {
+  public static final int DEFAULT_MAX_PARALLEL = 2;
+  public static final int STOP_REASON_PRIORITY = 0x70726900;
+  public static final int PROGRESS_INTERVAL_MS = 1000;
+  public static final String EVENT_NAME = "playbackDownloads";
+
+  private static final String DOWNLOAD_DIRECTORY = "playback-downloads";
+
+  private static final Map<String, DownloadRequest> completed = new ConcurrentHashMap<>();
+  private static final Handler handler = new Handler(Looper.getMainLooper());
+  private static final Runnable progressTick = DownloadStore::progressTick;
+  private static SimpleCache cache;
+  private static StandaloneDatabaseProvider databaseProvider;
+  private static DownloadManager downloadManager;
+  private static ReactContext context;
+  private static int maxParallel = DEFAULT_MAX_PARALLEL;
+
+  public static void setContext(ReactContext reactContext) {
+    context = reactContext;
+  }
+
+  public static synchronized SimpleCache getCache(Context context) {
+    if (cache == null) {
+      Context appContext = context.getApplicationContext();
+      File directory = new File(appContext.getFilesDir(), DOWNLOAD_DIRECTORY);
+      cache = new SimpleCache(directory, new NoOpCacheEvictor(), getDatabaseProvider(appContext));
+    }
+    return cache;
+  }
+
+  public static CacheDataSource.Factory getDataSourceFactory(Context context, @Nullable Map<String, String> headers) {
+    return new CacheDataSource.Factory()
+      .setCache(getCache(context))
+      .setUpstreamDataSourceFactory(MediaCache.getDataSourceFactory(context, headers))
+      .setCacheWriteDataSinkFactory(null);
+  }
+
+  public static DownloadManager getDownloadManager(Context context) {
+    if (downloadManager != null)
+      return downloadManager;
+    Context appContext = context.getApplicationContext();
+    downloadManager = new DownloadManager(
+      appContext,
+      getDatabaseProvider(appContext),
+      getCache(appContext),
+      NetworkClient.getDataSourceFactory(appContext, null),
+      Runnable::run
+    );
+    downloadManager.setMaxParallelDownloads(maxParallel);
+    loadCompleted();
+    downloadManager.addListener(new DownloadManager.Listener() {
+      @Override
+      public void onInitialized(DownloadManager manager) {
+        if (manager.getCurrentDownloads().isEmpty())
+          return;
+        reprioritize();
+        startService(appContext);
+        scheduleProgress();
+      }
+
+      @Override
+      public void onDownloadChanged(DownloadManager manager, Download download, @Nullable Exception finalException) {
+        if (download.state == Download.STATE_COMPLETED)
+          completed.put(download.request.id, download.request);
+        else
+          completed.remove(download.request.id);
+        reprioritize();
+        emit(Collections.singletonList(download));
+        scheduleProgress();
+      }
+
+      @Override
+      public void onDownloadRemoved(DownloadManager manager, Download download) {
+        completed.remove(download.request.id);
+        reprioritize();
+        emit(Collections.singletonList(download));
+      }
+    });
+    return downloadManager;
+  }
+
+  // The service and its permissions are declared by the app, so apps that
+  // never download do not carry a foreground service.
+  public static boolean isServiceDeclared(Context context) {
+    try {
+      context.getPackageManager().getServiceInfo(new ComponentName(context, PlaybackDownloadService.class), 0);
+      return true;
+    } catch (PackageManager.NameNotFoundException e) {
+      return false;
+    }
+  }
+
+  // The download directory is only created once something was downloaded, so
+  // apps that never download do not build the manager, cache and database.
+  public static boolean hasPersistedDownloads(Context context) {
+    return downloadManager != null || new File(context.getApplicationContext().getFilesDir(), DOWNLOAD_DIRECTORY).exists();
+  }
+
+  // Resumes downloads left unfinished by a previous process.
+  public static void resume(Context context) {
+    if (hasPersistedDownloads(context))
+      getDownloadManager(context);
+  }
+
+  @Nullable
+  public static DownloadRequest getCompletedDownload(Context context, @Nullable String downloadId) {
+    if (downloadId == null)
+      return null;
+    if (downloadManager == null) {
+      if (!hasPersistedDownloads(context))
+        return null;
+      PlayerThread.run(() -> getDownloadManager(context));
+    }
+    return completed.get(downloadId);
+  }
+
+  public static void download(Context context, String downloadId, String url, int priority, DownloadCallback callback) {
+    Context appContext = context.getApplicationContext();
+    if (!isServiceDeclared(appContext)) {
+      callback.onError("E_DOWNLOADS_NOT_CONFIGURED", "PlaybackDownloadService is not declared in the app manifest");
+      return;
+    }
+    getDownloadManager(appContext);
+    MediaItem mediaItem = new MediaItem.Builder().setUri(url).setMediaId(downloadId).build();
+    DownloadHelper helper = DownloadHelper.forMediaItem(
+      appContext,
+      mediaItem,
+      new DefaultRenderersFactory(appContext),
+      NetworkClient.getDataSourceFactory(appContext, null)
+    );
+    helper.prepare(new DownloadHelper.Callback() {
+      @Override
+      public void onPrepared(DownloadHelper helper, boolean tracksInfoAvailable) {
+        DownloadRequest request = helper.getDownloadRequest(downloadId, Util.getUtf8Bytes(String.valueOf(priority)));
+        helper.release();
+        try {
+          DownloadService.sendAddDownload(appContext, PlaybackDownloadService.class, request, false);
+        } catch (IllegalStateException e) {
+          callback.onError("E_DOWNLOAD_FAILED", e.getMessage());
+          return;
+        }
+        callback.onQueued(downloadId);
+      }
+
+      @Override
+      public void onPrepareError(DownloadHelper helper, IOException e) {
+        helper.release();
+        callback.onError("E_DOWNLOAD_FAILED", e.getMessage());
+      }
+    });
+  }
+
+  public static void remove(Context context, String downloadId) {
+    if (!isServiceDeclared(context) || !hasPersistedDownloads(context))
+      return;
+    getDownloadManager(context);
+    DownloadService.sendRemoveDownload(context.getApplicationContext(), PlaybackDownloadService.class, downloadId, false);
+  }
+
+  public static void setMaxParallel(Context context, int maxParallel) {
+    if (maxParallel <= 0)
+      return;
+    DownloadStore.maxParallel = maxParallel;
+    if (downloadManager == null)
+      return;
+    downloadManager.setMaxParallelDownloads(maxParallel);
+    reprioritize();
+  }
+
+  public static WritableArray getDownloads(Context context) throws IOException {
+    WritableArray downloads = Arguments.createArray();
+    if (!hasPersistedDownloads(context))
+      return downloads;
+    try (DownloadCursor cursor = getDownloadManager(context).getDownloadIndex().getDownloads()) {
+      while (cursor.moveToNext()) {
+        downloads.pushMap(toWritableMap(cursor.getDownload()));
+      }
+    }
+    return downloads;
+  }
+
+  private static synchronized StandaloneDatabaseProvider getDatabaseProvider(Context context) {
+    if (databaseProvider == null)
+      databaseProvider = new StandaloneDatabaseProvider(context.getApplicationContext());
+    return databaseProvider;
+  }
+
+  private static void loadCompleted() {
+    try (DownloadCursor cursor = downloadManager.getDownloadIndex().getDownloads(Download.STATE_COMPLETED)) {
+      while (cursor.moveToNext()) {
+        Download download = cursor.getDownload();
+        completed.put(download.request.id, download.request);
+      }
+    } catch (IOException e) {
+      completed.clear();
+    }
+  }
+
+  private static void startService(Context context) {
+    if (!isServiceDeclared(context))
+      return;
+    try {
+      DownloadService.start(context, PlaybackDownloadService.class);
+    } catch (IllegalStateException e) {
+      // Background service starts are restricted; downloads resume the next
+      // time one is added from the foreground.
+    }
+  }
+
+  private static int getPriority(Download download) {
+    try {
+      return Integer.parseInt(Util.fromUtf8Bytes(download.request.data));
+    } catch (NumberFormatException e) {
+      return 0;
+    }
+  }
+
+  // Lets the highest priority downloads run and parks the rest with
+  // STOP_REASON_PRIORITY. Downloads stopped for any other reason are left alone.
+  private static void reprioritize() {
+    if (downloadManager == null)
+      return;
+    List<Download> pending = new ArrayList<>();
+    for (Download download : downloadManager.getCurrentDownloads()) {
+      boolean parked = download.state == Download.STATE_STOPPED && download.stopReason == STOP_REASON_PRIORITY;
+      if (parked || download.state == Download.STATE_QUEUED || download.state == Download.STATE_DOWNLOADING || download.state == Download.STATE_RESTARTING)
+        pending.add(download);
+    }
+    Collections.sort(pending, (a, b) -> {
+      int priority = Integer.compare(getPriority(b), getPriority(a));
+      return priority != 0 ? priority : Long.compare(a.startTimeMs, b.startTimeMs);
+    });
+    for (int i = 0; i < pending.size(); i++) {
+      Download download = pending.get(i);
+      int stopReason = i < maxParallel ? Download.STOP_REASON_NONE : STOP_REASON_PRIORITY;
+      if (download.stopReason != stopReason)
+        downloadManager.setStopReason(download.request.id, stopReason);
+    }
+  }
+
+  private static void scheduleProgress() {
+    handler.removeCallbacks(progressTick);
+    if (downloadManager == null)
+      return;
+    for (Download download : downloadManager.getCurrentDownloads()) {
+      if (download.state == Download.STATE_DOWNLOADING) {
+        handler.postDelayed(progressTick, PROGRESS_INTERVAL_MS);
+        return;
+      }
+    }
+  }
+
+  private static void progressTick() {
+    List<Download> downloading = new ArrayList<>();
+    for (Download download : downloadManager.getCurrentDownloads()) {
+      if (download.state == Download.STATE_DOWNLOADING)
+        downloading.add(download);
+    }
+    emit(downloading);
+    scheduleProgress();
+  }
+
+  private static void emit(List<Download> downloads) {
+    if (downloads.isEmpty() || context == null || !context.hasActiveReactInstance())
+      return;
+    WritableArray list = Arguments.createArray();
+    for (Download download : downloads) {
+      list.pushMap(toWritableMap(download));
+    }
+    WritableMap params = Arguments.createMap();
+    params.putArray("downloads", list);
+    context
+      .getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class)
+      .emit(EVENT_NAME, params);
+  }
+
+  private static WritableMap toWritableMap(Download download) {
+    WritableMap params = Arguments.createMap();
+    params.putString("id", download.request.id);
+    params.putString("url", download.request.uri.toString());
+    params.putString("state", getStateName(download.state));
+    params.putDouble("percent", download.getPercentDownloaded());
+    params.putDouble("bytesDownloaded", download.getBytesDownloaded());
+    params.putDouble("contentLength", download.contentLength);
+    params.putInt("priority", getPriority(download));
+    return params;
+  }
+
+  private static String getStateName(int state) {
+    switch (state) {
+      case Download.STATE_QUEUED:
+        return "queued";
+      case Download.STATE_DOWNLOADING:
+        return "downloading";
+      case Download.STATE_COMPLETED:
+        return "completed";
+      case Download.STATE_FAILED:
+        return "failed";
+      case Download.STATE_REMOVING:
+        return "removing";
+      case Download.STATE_RESTARTING:
+        return "restarting";
+      default:
+        return "stopped";
+    }
+  }
+}
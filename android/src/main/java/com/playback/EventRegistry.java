@@ -0,0 +1,56 @@
+package com.playback;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class EventRegistry {
+  private static final Map<String, Set<String>> subscriptions = new ConcurrentHashMap<>();
+  private static final AtomicInteger listenerCount = new AtomicInteger();
+
+  public static void setSubscriptions(String playerId, Collection<String> eventTypes) {
+    subscriptions.put(playerId, Collections.unmodifiableSet(new HashSet<>(eventTypes)));
+  }
+
+  public static void remove(String playerId) {
+    subscriptions.remove(playerId);
+  }
+
+  public static boolean isSubscribed(String playerId, String eventType) {
+    if (listenerCount.get() <= 0)
+      return false;
+    Set<String> eventTypes = subscriptions.get(playerId);
+    return eventTypes == null || eventTypes.contains(eventType);
+  }
+
+  // Returns the event payload, or null when nobody listens for eventType, so
+  // unobserved events cost no allocation.
+  public static WritableMap createEvent(String playerId, String eventType) {
+    if (!isSubscribed(playerId, eventType))
+      return null;
+    WritableMap params = Arguments.createMap();
+    params.putString("eventType", eventType);
+    params.putString("playerId", playerId);
+    return params;
+  }
+
+  public static void addListener() {
+    listenerCount.incrementAndGet();
+  }
+
+  public static void removeListeners(int count) {
+    listenerCount.updateAndGet(current -> Math.max(0, current - count));
+  }
+
+  public static void clear() {
+    subscriptions.clear();
+    listenerCount.set(0);
+  }
+}
@@ -0,0 +1,5 @@
+package com.playback;
+
+public interface FadeCallback {
+  void onFadeEnd(float volume, boolean cancelled);
+}
@@ -0,0 +1,45 @@
+package com.playback;
+
+public enum FadeCurve {
+  LINEAR("linear"),
+  EXPONENTIAL("exponential"),
+  EQUAL_POWER("equalPower");
+
+  public final String name;
+
+  FadeCurve(String name) {
+    this.name = name;
+  }
+
+  public static FadeCurve fromString(String name) {
+    if (name == null)
+      return LINEAR;
+    for (FadeCurve curve : values()) {
+      if (curve.name.equals(name))
+        return curve;
+    }
+    throw new IllegalArgumentException("unknown fade curve " + name);
+  }
+
+  // Gain at the given progress (0..1) of a fade from `from` to `to`. Rising
+  // fades start slowly and falling fades drop quickly, so the perceived
+  // loudness changes evenly; equal power keeps two opposite fades at constant
+  // combined power for crossfades.
+  public float gain(double progress, float from, float to) {
+    double p = Math.max(0, Math.min(1, progress));
+    boolean rising = to >= from;
+    double weight;
+    switch (this) {
+      case EXPONENTIAL:
+        weight = rising ? p * p : 1 - (1 - p) * (1 - p);
+        break;
+      case EQUAL_POWER:
+        weight = rising ? Math.sin(p * Math.PI / 2) : 1 - Math.cos(p * Math.PI / 2);
+        break;
+      default:
+        weight = p;
+        break;
+    }
+    return (float) (from + (to - from) * weight);
+  }
+}
@@ -0,0 +1,108 @@
+package com.playback;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Drives every running volume fade from one main-thread Handler tick. A
+// Choreographer callback would stop with the display, freezing fades while the
+// screen is off or the app is in the background. Main thread only.
+public class FadeEngine {
+  static final long TICK_INTERVAL_MS = 16;
+
+  private static final Handler handler = new Handler(Looper.getMainLooper());
+  private static final List<Fade> fades = new ArrayList<>();
+  private static final Runnable tick = FadeEngine::onTick;
+  private static boolean scheduled = false;
+
+  private static class Fade {
+    final FadeTarget target;
+    final float from;
+    final float to;
+    final long startTimeMs;
+    final long durationMs;
+    final FadeCurve curve;
+    final FadeCallback callback;
+
+    Fade(FadeTarget target, float from, float to, long startTimeMs, long durationMs, FadeCurve curve, FadeCallback callback) {
+      this.target = target;
+      this.from = from;
+      this.to = to;
+      this.startTimeMs = startTimeMs;
+      this.durationMs = durationMs;
+      this.curve = curve;
+      this.callback = callback;
+    }
+  }
+
+  public static long now() {
+    return SystemClock.elapsedRealtime();
+  }
+
+  // startTimeMs is on the now() clock. Fades sharing a start time stay aligned.
+  public static void start(FadeTarget target, float from, float to, long durationMs, FadeCurve curve, long startTimeMs, FadeCallback callback) {
+    cancel(target);
+    fades.add(new Fade(target, from, to, startTimeMs, Math.max(1, durationMs), curve, callback));
+    if (now() >= startTimeMs)
+      target.applyFadeVolume(from);
+    schedule();
+  }
+
+  public static boolean cancel(FadeTarget target) {
+    for (int i = 0; i < fades.size(); i++) {
+      Fade fade = fades.get(i);
+      if (fade.target != target)
+        continue;
+      fades.remove(i);
+      fade.callback.onFadeEnd(fade.target.getAppliedVolume(), true);
+      return true;
+    }
+    return false;
+  }
+
+  public static boolean isFading(FadeTarget target) {
+    for (Fade fade : fades) {
+      if (fade.target == target)
+        return true;
+    }
+    return false;
+  }
+
+  private static void schedule() {
+    if (scheduled || fades.isEmpty())
+      return;
+    scheduled = true;
+    handler.postDelayed(tick, TICK_INTERVAL_MS);
+  }
+
+  private static void onTick() {
+    scheduled = false;
+    tick(now());
+    schedule();
+  }
+
+  // Applies the gain of every fade at nowMs and completes the finished ones.
+  static void tick(long nowMs) {
+    List<Fade> finished = null;
+    for (Fade fade : fades) {
+      long elapsed = nowMs - fade.startTimeMs;
+      if (elapsed < 0)
+        continue;
+      double progress = (double) elapsed / fade.durationMs;
+      fade.target.applyFadeVolume(fade.curve.gain(progress, fade.from, fade.to));
+      if (progress >= 1) {
+        if (finished == null)
+          finished = new ArrayList<>();
+        finished.add(fade);
+      }
+    }
+    if (finished != null) {
+      fades.removeAll(finished);
+      for (Fade fade : finished)
+        fade.callback.onFadeEnd(fade.to, false);
+    }
+  }
+}
@@ -0,0 +1,6 @@
+package com.playback;
+
+public interface FadeTarget {
+  void applyFadeVolume(float volume);
+  float getAppliedVolume();
+}
@@ -0,0 +1,95 @@
+package com.playback;
+
+import android.content.Context;
+import android.net.Uri;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.OptIn;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.database.StandaloneDatabaseProvider;
+import androidx.media3.datasource.cache.CacheDataSource;
+import androidx.media3.datasource.cache.CacheEvictor;
+import androidx.media3.datasource.cache.LeastRecentlyUsedCacheEvictor;
+import androidx.media3.datasource.cache.NoOpCacheEvictor;
+import androidx.media3.datasource.cache.SimpleCache;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Map;
+
+public class MediaCache {
+  public static final long DEFAULT_MAX_SIZE = 256L * 1024 * 1024;
+  public static final String EVICTION_LRU = "lru";
+  public static final String EVICTION_NONE = "none";
+
+  private static final String CACHE_DIRECTORY = "playback-media-cache";
+
+  private static SimpleCache cache;
+  private static long maxSize = DEFAULT_MAX_SIZE;
+  private static String evictionPolicy = EVICTION_LRU;
+
+  public static synchronized boolean configure(long maxSize, String evictionPolicy) {
+    if (cache != null)
+      return false;
+    if (maxSize > 0)
+      MediaCache.maxSize = maxSize;
+    if (evictionPolicy != null)
+      MediaCache.evictionPolicy = evictionPolicy;
+    return true;
+  }
+
+  @OptIn(markerClass = UnstableApi.class)
+  public static synchronized SimpleCache getCache(Context context) {
+    if (cache == null) {
+      Context appContext = context.getApplicationContext();
+      File directory = new File(appContext.getCacheDir(), CACHE_DIRECTORY);
+      cache = new SimpleCache(directory, createEvictor(), new StandaloneDatabaseProvider(appContext));
+    }
+    return cache;
+  }
+
+  // Only remote media is cached. Local files, assets, raw resources and content
+  // URIs are read directly so they never evict network entries.
+  public static boolean isCacheable(@Nullable Uri uri) {
+    if (uri == null)
+      return false;
+    String scheme = uri.getScheme();
+    return "http".equalsIgnoreCase(scheme) || "https".equalsIgnoreCase(scheme);
+  }
+
+  public static CacheDataSource.Factory getDataSourceFactory(Context context) {
+    return getDataSourceFactory(context, null);
+  }
+
+  @OptIn(markerClass = UnstableApi.class)
+  public static CacheDataSource.Factory getDataSourceFactory(Context context, @Nullable Map<String, String> headers) {
+    return new CacheDataSource.Factory()
+      .setCache(getCache(context))
+      .setUpstreamDataSourceFactory(NetworkClient.getDataSourceFactory(context, headers))
+      .setFlags(CacheDataSource.FLAG_IGNORE_CACHE_ON_ERROR);
+  }
+
+  @OptIn(markerClass = UnstableApi.class)
+  public static long getSize(Context context) {
+    return getCache(context).getCacheSpace();
+  }
+
+  public static long getMaxSize() {
+    return maxSize;
+  }
+
+  @OptIn(markerClass = UnstableApi.class)
+  public static void clear(Context context) {
+    SimpleCache cache = getCache(context);
+    for (String key : new ArrayList<>(cache.getKeys())) {
+      cache.removeResource(key);
+    }
+  }
+
+  @OptIn(markerClass = UnstableApi.class)
+  private static CacheEvictor createEvictor() {
+    if (EVICTION_NONE.equals(evictionPolicy))
+      return new NoOpCacheEvictor();
+    return new LeastRecentlyUsedCacheEvictor(maxSize);
+  }
+}
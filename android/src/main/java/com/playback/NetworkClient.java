@@ -0,0 +1,79 @@
+package com.playback;
+
+import android.content.Context;
+
+import androidx.annotation.Nullable;
+import androidx.annotation.OptIn;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.datasource.DataSource;
+import androidx.media3.datasource.DefaultDataSource;
+import androidx.media3.datasource.okhttp.OkHttpDataSource;
+
+import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.ReadableMapKeySetIterator;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Call;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+
+public class NetworkClient {
+  public static final int DEFAULT_CONNECT_TIMEOUT_MS = 8000;
+  public static final int DEFAULT_READ_TIMEOUT_MS = 8000;
+
+  private static final Call.Factory callFactory = request -> getClient().newCall(request);
+  private static OkHttpClient client;
+  private static int connectTimeoutMs = DEFAULT_CONNECT_TIMEOUT_MS;
+  private static int readTimeoutMs = DEFAULT_READ_TIMEOUT_MS;
+
+  public static synchronized OkHttpClient getClient() {
+    if (client == null) {
+      client = new OkHttpClient.Builder()
+        .connectionPool(new ConnectionPool(8, 5, TimeUnit.MINUTES))
+        .protocols(Arrays.asList(Protocol.HTTP_2, Protocol.HTTP_1_1))
+        .connectTimeout(connectTimeoutMs, TimeUnit.MILLISECONDS)
+        .readTimeout(readTimeoutMs, TimeUnit.MILLISECONDS)
+        .build();
+    }
+    return client;
+  }
+
+  public static synchronized void configure(int connectTimeoutMs, int readTimeoutMs) {
+    if (connectTimeoutMs > 0)
+      NetworkClient.connectTimeoutMs = connectTimeoutMs;
+    if (readTimeoutMs > 0)
+      NetworkClient.readTimeoutMs = readTimeoutMs;
+    if (client != null) {
+      client = client.newBuilder()
+        .connectTimeout(NetworkClient.connectTimeoutMs, TimeUnit.MILLISECONDS)
+        .readTimeout(NetworkClient.readTimeoutMs, TimeUnit.MILLISECONDS)
+        .build();
+    }
+  }
+
+  @Nullable
+  public static Map<String, String> toHeaders(@Nullable ReadableMap map) {
+    if (map == null)
+      return null;
+    Map<String, String> headers = new HashMap<>();
+    ReadableMapKeySetIterator iterator = map.keySetIterator();
+    while (iterator.hasNextKey()) {
+      String key = iterator.nextKey();
+      headers.put(key, map.getString(key));
+    }
+    return headers;
+  }
+
+  @OptIn(markerClass = UnstableApi.class)
+  public static DataSource.Factory getDataSourceFactory(Context context, @Nullable Map<String, String> headers) {
+    OkHttpDataSource.Factory httpDataSourceFactory = new OkHttpDataSource.Factory(callFactory);
+    if (headers != null && !headers.isEmpty())
+      httpDataSourceFactory.setDefaultRequestProperties(headers);
+    return new DefaultDataSource.Factory(context.getApplicationContext(), httpDataSourceFactory);
+  }
+}
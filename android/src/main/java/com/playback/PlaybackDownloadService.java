@@ -0,0 +1,60 @@
+package com.playback;
+
+import android.app.Notification;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.OptIn;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.exoplayer.offline.Download;
+import androidx.media3.exoplayer.offline.DownloadManager;
+import androidx.media3.exoplayer.offline.DownloadNotificationHelper;
+import androidx.media3.exoplayer.offline.DownloadService;
+import androidx.media3.exoplayer.scheduler.Scheduler;
+
+import java.util.List;
+
+@OptIn(markerClass = UnstableApi.class)
+public class PlaybackDownloadService extends DownloadService {
+  private static final int FOREGROUND_NOTIFICATION_ID = 0x706c6179;
+  private static final String CHANNEL_ID = "playback_downloads";
+
+  private DownloadNotificationHelper notificationHelper;
+
+  public PlaybackDownloadService() {
+    super(
+      FOREGROUND_NOTIFICATION_ID,
+      DEFAULT_FOREGROUND_NOTIFICATION_UPDATE_INTERVAL,
+      CHANNEL_ID,
+      R.string.playback_download_channel_name,
+      0
+    );
+  }
+
+  @NonNull
+  @Override
+  protected DownloadManager getDownloadManager() {
+    return DownloadStore.getDownloadManager(this);
+  }
+
+  @Nullable
+  @Override
+  protected Scheduler getScheduler() {
+    return null;
+  }
+
+  @NonNull
+  @Override
+  protected Notification getForegroundNotification(@NonNull List<Download> downloads, int notMetRequirements) {
+    if (notificationHelper == null)
+      notificationHelper = new DownloadNotificationHelper(this, CHANNEL_ID);
+    return notificationHelper.buildProgressNotification(
+      this,
+      android.R.drawable.stat_sys_download,
+      null,
+      null,
+      downloads,
+      notMetRequirements
+    );
+  }
+}
@@ -0,0 +1,110 @@
+package com.playback;
+
+import android.content.Context;
+import android.os.Bundle;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.OptIn;
+import androidx.media3.common.MediaItem;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.datasource.DataSource;
+import androidx.media3.exoplayer.drm.DrmSessionManagerProvider;
+import androidx.media3.exoplayer.offline.DownloadRequest;
+import androidx.media3.exoplayer.source.DefaultMediaSourceFactory;
+import androidx.media3.exoplayer.source.MediaSource;
+import androidx.media3.exoplayer.upstream.LoadErrorHandlingPolicy;
+
+import com.facebook.react.bridge.ReadableMap;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@OptIn(markerClass = UnstableApi.class)
+public class PlaybackMediaSourceFactory implements MediaSource.Factory {
+  private static final String EXTRA_HEADERS = "headers";
+
+  private final Context context;
+  private final DefaultMediaSourceFactory defaultMediaSourceFactory;
+  @Nullable
+  private DrmSessionManagerProvider drmSessionManagerProvider;
+  @Nullable
+  private LoadErrorHandlingPolicy loadErrorHandlingPolicy;
+
+  public PlaybackMediaSourceFactory(Context context) {
+    this.context = context.getApplicationContext();
+    this.defaultMediaSourceFactory = new DefaultMediaSourceFactory(MediaCache.getDataSourceFactory(this.context));
+  }
+
+  @Nullable
+  public static Bundle buildExtras(ReadableMap source) {
+    Map<String, String> headers = NetworkClient.toHeaders(source.hasKey("headers") ? source.getMap("headers") : null);
+    if (headers == null || headers.isEmpty())
+      return null;
+    Bundle headersBundle = new Bundle();
+    for (Map.Entry<String, String> header : headers.entrySet()) {
+      headersBundle.putString(header.getKey(), header.getValue());
+    }
+    Bundle extras = new Bundle();
+    extras.putBundle(EXTRA_HEADERS, headersBundle);
+    return extras;
+  }
+
+  @Nullable
+  public static Map<String, String> getHeaders(MediaItem mediaItem) {
+    Bundle extras = mediaItem.requestMetadata.extras;
+    Bundle headersBundle = extras != null ? extras.getBundle(EXTRA_HEADERS) : null;
+    if (headersBundle == null || headersBundle.isEmpty())
+      return null;
+    Map<String, String> headers = new HashMap<>();
+    for (String key : headersBundle.keySet()) {
+      headers.put(key, headersBundle.getString(key));
+    }
+    return headers;
+  }
+
+  @NonNull
+  @Override
+  public MediaSource.Factory setDrmSessionManagerProvider(@NonNull DrmSessionManagerProvider drmSessionManagerProvider) {
+    this.drmSessionManagerProvider = drmSessionManagerProvider;
+    defaultMediaSourceFactory.setDrmSessionManagerProvider(drmSessionManagerProvider);
+    return this;
+  }
+
+  @NonNull
+  @Override
+  public MediaSource.Factory setLoadErrorHandlingPolicy(@NonNull LoadErrorHandlingPolicy loadErrorHandlingPolicy) {
+    this.loadErrorHandlingPolicy = loadErrorHandlingPolicy;
+    defaultMediaSourceFactory.setLoadErrorHandlingPolicy(loadErrorHandlingPolicy);
+    return this;
+  }
+
+  @NonNull
+  @Override
+  public int[] getSupportedTypes() {
+    return defaultMediaSourceFactory.getSupportedTypes();
+  }
+
+  @NonNull
+  @Override
+  public MediaSource createMediaSource(@NonNull MediaItem mediaItem) {
+    Map<String, String> headers = getHeaders(mediaItem);
+    DownloadRequest download = DownloadStore.getCompletedDownload(context, mediaItem.mediaId);
+    if (download != null)
+      return createMediaSource(download.toMediaItem(mediaItem.buildUpon()), DownloadStore.getDataSourceFactory(context, headers));
+    if (mediaItem.localConfiguration != null && !MediaCache.isCacheable(mediaItem.localConfiguration.uri))
+      return createMediaSource(mediaItem, NetworkClient.getDataSourceFactory(context, headers));
+    if (headers == null)
+      return defaultMediaSourceFactory.createMediaSource(mediaItem);
+    return createMediaSource(mediaItem, MediaCache.getDataSourceFactory(context, headers));
+  }
+
+  private MediaSource createMediaSource(MediaItem mediaItem, DataSource.Factory dataSourceFactory) {
+    DefaultMediaSourceFactory mediaSourceFactory = new DefaultMediaSourceFactory(dataSourceFactory);
+    if (drmSessionManagerProvider != null)
+      mediaSourceFactory.setDrmSessionManagerProvider(drmSessionManagerProvider);
+    if (loadErrorHandlingPolicy != null)
+      mediaSourceFactory.setLoadErrorHandlingPolicy(loadErrorHandlingPolicy);
+    return mediaSourceFactory.createMediaSource(mediaItem);
+  }
+}
@@ -0,0 +1,193 @@
+package com.playback;
+
+import android.os.SystemClock;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.annotation.OptIn;
+import androidx.media3.common.Format;
+import androidx.media3.common.Player;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.exoplayer.DecoderReuseEvaluation;
+import androidx.media3.exoplayer.analytics.AnalyticsListener;
+import androidx.media3.exoplayer.source.LoadEventInfo;
+import androidx.media3.exoplayer.source.MediaLoadData;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+@OptIn(markerClass = UnstableApi.class)
+public class PlaybackMetrics implements AnalyticsListener {
+  private final AtomicLong loadStartTime = new AtomicLong();
+  private final AtomicLong timeToFirstFrameMs = new AtomicLong(-1);
+  private final AtomicLong joinLatencyMs = new AtomicLong(-1);
+  private final AtomicLong rebufferCount = new AtomicLong();
+  private final AtomicLong rebufferDurationMs = new AtomicLong();
+  private final AtomicLong droppedFrames = new AtomicLong();
+  private final AtomicLong videoDecoderInitMs = new AtomicLong(-1);
+  private final AtomicLong audioDecoderInitMs = new AtomicLong(-1);
+  private final AtomicLong bitrateSwitches = new AtomicLong();
+  private final AtomicLong currentBitrate = new AtomicLong(-1);
+  private final AtomicLong bandwidthSamples = new AtomicLong();
+  private final AtomicLong bandwidthEstimate = new AtomicLong(-1);
+  private final AtomicLong bytesLoaded = new AtomicLong();
+  private final AtomicReference<String> videoDecoderName = new AtomicReference<>();
+  private final AtomicReference<String> audioDecoderName = new AtomicReference<>();
+
+  private boolean ready = false;
+  private boolean seeking = false;
+  private volatile long rebufferStartTime = 0;
+  private volatile long playRequestTime = 0;
+
+  public void reset() {
+    loadStartTime.set(SystemClock.elapsedRealtime());
+    timeToFirstFrameMs.set(-1);
+    joinLatencyMs.set(-1);
+    rebufferCount.set(0);
+    rebufferDurationMs.set(0);
+    droppedFrames.set(0);
+    bitrateSwitches.set(0);
+    currentBitrate.set(-1);
+    bandwidthSamples.set(0);
+    bytesLoaded.set(0);
+    ready = false;
+    seeking = false;
+    rebufferStartTime = 0;
+    playRequestTime = 0;
+  }
+
+  // A suspended player rebuffers when restored; that is not a stall.
+  public void onSuspend() {
+    ready = false;
+    rebufferStartTime = 0;
+  }
+
+  public WritableMap toWritableMap() {
+    WritableMap params = Arguments.createMap();
+    params.putDouble("timeToFirstFrameMs", timeToFirstFrameMs.get());
+    params.putDouble("joinLatencyMs", joinLatencyMs.get());
+    params.putDouble("rebufferCount", rebufferCount.get());
+    params.putDouble("rebufferDurationMs", getRebufferDurationMs());
+    params.putDouble("droppedFrames", droppedFrames.get());
+    params.putDouble("videoDecoderInitMs", videoDecoderInitMs.get());
+    params.putDouble("audioDecoderInitMs", audioDecoderInitMs.get());
+    params.putString("videoDecoderName", videoDecoderName.get());
+    params.putString("audioDecoderName", audioDecoderName.get());
+    params.putDouble("bitrateSwitches", bitrateSwitches.get());
+    params.putDouble("currentBitrate", currentBitrate.get());
+    params.putDouble("bandwidthSamples", bandwidthSamples.get());
+    params.putDouble("bandwidthEstimate", bandwidthEstimate.get());
+    params.putDouble("bytesLoaded", bytesLoaded.get());
+    return params;
+  }
+
+  @Nullable
+  public String getVideoDecoderName() {
+    return videoDecoderName.get();
+  }
+
+  private long getRebufferDurationMs() {
+    long duration = rebufferDurationMs.get();
+    long start = rebufferStartTime;
+    if (start > 0)
+      duration += SystemClock.elapsedRealtime() - start;
+    return duration;
+  }
+
+  @Override
+  public void onPlaybackStateChanged(@NonNull EventTime eventTime, int state) {
+    long now = SystemClock.elapsedRealtime();
+    if (state == Player.STATE_BUFFERING) {
+      if (ready && !seeking && rebufferStartTime == 0) {
+        rebufferCount.incrementAndGet();
+        rebufferStartTime = now;
+      }
+      return;
+    }
+    seeking = false;
+    if (state == Player.STATE_READY) {
+      ready = true;
+      if (rebufferStartTime > 0) {
+        rebufferDurationMs.addAndGet(now - rebufferStartTime);
+        rebufferStartTime = 0;
+      }
+    } else if (state == Player.STATE_IDLE) {
+      rebufferStartTime = 0;
+    }
+  }
+
+  @Override
+  public void onPlayWhenReadyChanged(@NonNull EventTime eventTime, boolean playWhenReady, int reason) {
+    if (playWhenReady && joinLatencyMs.get() == -1)
+      playRequestTime = SystemClock.elapsedRealtime();
+  }
+
+  // Join latency runs from the play request, or from the load when play was
+  // already requested then.
+  @Override
+  public void onIsPlayingChanged(@NonNull EventTime eventTime, boolean isPlaying) {
+    long start = playRequestTime > 0 ? playRequestTime : loadStartTime.get();
+    if (isPlaying && start > 0)
+      joinLatencyMs.compareAndSet(-1, SystemClock.elapsedRealtime() - start);
+  }
+
+  @Override
+  public void onPositionDiscontinuity(@NonNull EventTime eventTime, @NonNull Player.PositionInfo oldPosition, @NonNull Player.PositionInfo newPosition, int reason) {
+    if (reason == Player.DISCONTINUITY_REASON_SEEK)
+      seeking = true;
+  }
+
+  // A seek inside the buffered range never leaves READY, so it is over once
+  // its events are delivered.
+  @Override
+  public void onEvents(@NonNull Player player, @NonNull Events events) {
+    if (seeking && events.contains(EVENT_POSITION_DISCONTINUITY) && player.getPlaybackState() == Player.STATE_READY)
+      seeking = false;
+  }
+
+  @Override
+  public void onRenderedFirstFrame(@NonNull EventTime eventTime, @NonNull Object output, long renderTimeMs) {
+    if (loadStartTime.get() > 0)
+      timeToFirstFrameMs.compareAndSet(-1, SystemClock.elapsedRealtime() - loadStartTime.get());
+  }
+
+  @Override
+  public void onDroppedVideoFrames(@NonNull EventTime eventTime, int droppedFrames, long elapsedMs) {
+    this.droppedFrames.addAndGet(droppedFrames);
+  }
+
+  @Override
+  public void onVideoDecoderInitialized(@NonNull EventTime eventTime, @NonNull String decoderName, long initializedTimestampMs, long initializationDurationMs) {
+    videoDecoderName.set(decoderName);
+    videoDecoderInitMs.set(initializationDurationMs);
+  }
+
+  @Override
+  public void onAudioDecoderInitialized(@NonNull EventTime eventTime, @NonNull String decoderName, long initializedTimestampMs, long initializationDurationMs) {
+    audioDecoderName.set(decoderName);
+    audioDecoderInitMs.set(initializationDurationMs);
+  }
+
+  @Override
+  public void onVideoInputFormatChanged(@NonNull EventTime eventTime, @NonNull Format format, @Nullable DecoderReuseEvaluation decoderReuseEvaluation) {
+    if (format.bitrate == Format.NO_VALUE)
+      return;
+    long previous = currentBitrate.getAndSet(format.bitrate);
+    if (previous != -1 && previous != format.bitrate)
+      bitrateSwitches.incrementAndGet();
+  }
+
+  @Override
+  public void onBandwidthEstimate(@NonNull EventTime eventTime, int totalLoadTimeMs, long totalBytesLoaded, long bitrateEstimate) {
+    bandwidthSamples.incrementAndGet();
+    bandwidthEstimate.set(bitrateEstimate);
+  }
+
+  @Override
+  public void onLoadCompleted(@NonNull EventTime eventTime, @NonNull LoadEventInfo loadEventInfo, @NonNull MediaLoadData mediaLoadData) {
+    bytesLoaded.addAndGet(loadEventInfo.bytesLoaded);
+  }
+}
@@ -1,6 +1,12 @@
 package com.playback;
 
+import android.content.ComponentCallbacks2;
+import android.content.res.Configuration;
+import android.util.Log;
+
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.media3.common.C;
 
 import com.facebook.react.bridge.Arguments;
 import com.facebook.react.bridge.LifecycleEventListener;
@@ -8,34 +14,87 @@ import com.facebook.react.bridge.Promise;
 import com.facebook.react.bridge.ReactApplicationContext;
 import com.facebook.react.bridge.ReactContextBaseJavaModule;
 import com.facebook.react.bridge.ReactMethod;
+import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
+import com.facebook.react.bridge.WritableArray;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.module.annotations.ReactModule;
-import java.util.HashMap;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @ReactModule(name = PlaybackModule.NAME)
-public class PlaybackModule extends ReactContextBaseJavaModule implements LifecycleEventListener {
+public class PlaybackModule extends ReactContextBaseJavaModule implements LifecycleEventListener, ComponentCallbacks2 {
   public static final String NAME = "Playback";
-  public static Map<String, Player> players = new HashMap<>();
+  public static final Map<String, Player> players = new ConcurrentHashMap<>();
 
   @Override
-  public void onHostResume() {}
+  public void onHostResume() {
+    for(Player player : players.values()) {
+      player.restoreIfBound();
+    }
+  }
 
   @Override
-  public void onHostPause() {}
+  public void onHostPause() {
+    PlayerThread.run(PlayerLifecycle::suspendInactive);
+  }
 
   @Override
   public void onHostDestroy() {
+    Preloader.cancelAll();
     for(Map.Entry<String, Player> entry : players.entrySet()) {
       Player player = entry.getValue();
       player.dispose();
     }
+    PlayerThread.run(() -> {
+      PlayerLifecycle.clear();
+      PlayerPool.clear();
+    });
+  }
+
+  @Override
+  public void onTrimMemory(int level) {
+    PlayerThread.run(() -> {
+      PlayerLifecycle.trim(level);
+      PlayerPool.trim(level);
+    });
+  }
+
+  @Override
+  public void onLowMemory() {
+    PlayerThread.run(() -> {
+      PlayerLifecycle.suspendInactive();
+      PlayerPool.clear();
+    });
+  }
+
+  @Override
+  public void onConfigurationChanged(@NonNull Configuration newConfig) {}
+
+  @Nullable
+  public static Player getPlayer(@Nullable String playerId) {
+    if(playerId == null)
+      return null;
+    return players.get(playerId);
   }
 
   public PlaybackModule(ReactApplicationContext reactContext) {
     super(reactContext);
     reactContext.addLifecycleEventListener(this);
+    EventRegistry.clear();
+    ProgressScheduler.setContext(reactContext);
+    DownloadStore.setContext(reactContext);
+    PlayerThread.run(() -> DownloadStore.resume(reactContext));
+    reactContext.getApplicationContext().registerComponentCallbacks(this);
+  }
+
+  @Override
+  public void invalidate() {
+    getReactApplicationContext().getApplicationContext().unregisterComponentCallbacks(this);
+    super.invalidate();
   }
 
   @Override
@@ -45,82 +104,229 @@ public class PlaybackModule extends ReactContextBaseJavaModule implements Lifecy
   }
 
   @ReactMethod
-  public void createPlayer(String playerId, Promise promise) {
+  public void createPlayer(String playerId, ReadableMap options, Promise promise) {
+    BufferProfile bufferProfile;
+    try {
+      bufferProfile = BufferProfile.fromReadableMap(options.hasKey("bufferProfile") ? options.getMap("bufferProfile") : null);
+    } catch (IllegalArgumentException e) {
+      promise.reject("E_INVALID_BUFFER_PROFILE", e.getMessage());
+      return;
+    }
     InitCallback callback = () -> promise.resolve(playerId);
-    var player = new Player(getReactApplicationContext(), playerId, callback);
+    boolean audioOnly = options.hasKey("audioOnly") && options.getBoolean("audioOnly");
+    boolean audioOffload = options.hasKey("audioOffload") && options.getBoolean("audioOffload");
+    var player = new Player(getReactApplicationContext(), playerId, bufferProfile, audioOnly, audioOffload, callback);
     players.put(playerId, player);
   }
 
   @ReactMethod
   public void disposePlayer(String playerId, Promise promise) {
-    var player = players.get(playerId);
+    var player = getPlayer(playerId);
     if(player == null) {
       promise.reject("E_PLAYER_NOT_FOUND", "playerId is invalid");
       return;
     }
     player.dispose();
     players.remove(playerId);
+    EventRegistry.remove(playerId);
     promise.resolve(null);
   }
 
   @ReactMethod
   public void setSource(String playerId, ReadableMap source, Promise promise) {
-    var player = players.get(playerId);
+    var player = getPlayer(playerId);
     if(player == null) {
       promise.reject("E_PLAYER_NOT_FOUND", "playerId is invalid");
       return;
     }
-    player.setSource(source);
+    try {
+      setSource(player, source);
+    } catch (IllegalArgumentException e) {
+      promise.reject("E_INVALID_BUFFER_PROFILE", e.getMessage());
+      return;
+    }
     promise.resolve(null);
   }
 
+  private static void setSource(Player player, ReadableMap source) {
+    if(source.hasKey("bufferProfile"))
+      player.setBufferProfile(BufferProfile.fromReadableMap(source.getMap("bufferProfile")));
+    if(source.hasKey("bufferSize"))
+      player.setBufferSize(source.getInt("bufferSize"));
+    player.setSource(source);
+  }
+
   @ReactMethod
-  public void play(String playerId, Promise promise) {
-    var player = players.get(playerId);
+  public void setQueue(String playerId, ReadableArray sources, ReadableMap options, Promise promise) {
+    var player = getPlayer(playerId);
     if(player == null) {
       promise.reject("E_PLAYER_NOT_FOUND", "playerId is invalid");
       return;
     }
-    player.play();
+    if(!Player.isValidQueue(sources)) {
+      promise.reject("E_INVALID_QUEUE", "every queue item needs a url");
+      return;
+    }
+    player.setQueue(
+      sources,
+      options.hasKey("startIndex") ? options.getInt("startIndex") : 0,
+      options.hasKey("autoplay") && options.getBoolean("autoplay")
+    );
     promise.resolve(null);
   }
 
   @ReactMethod
-  public void pause(String playerId, Promise promise) {
-    var player = players.get(playerId);
+  public void enqueue(String playerId, ReadableArray sources, Promise promise) {
+    var player = getPlayer(playerId);
     if(player == null) {
       promise.reject("E_PLAYER_NOT_FOUND", "playerId is invalid");
       return;
     }
+    if(!Player.isValidQueue(sources)) {
+      promise.reject("E_INVALID_QUEUE", "every queue item needs a url");
+      return;
+    }
+    player.enqueue(sources);
+    promise.resolve(null);
+  }
+
+  @ReactMethod
+  public void removeAt(String playerId, int index) {
+    var player = getPlayer(playerId);
+    if(player == null)
+      return;
+    player.removeAt(index);
+  }
+
+  @ReactMethod
+  public void skipTo(String playerId, int index) {
+    var player = getPlayer(playerId);
+    if(player == null)
+      return;
+    player.skipTo(index);
+  }
+
+  @ReactMethod
+  public void moveItem(String playerId, int fromIndex, int toIndex) {
+    var player = getPlayer(playerId);
+    if(player == null)
+      return;
+    player.moveItem(fromIndex, toIndex);
+  }
+
+  @ReactMethod
+  public void play(String playerId) {
+    var player = getPlayer(playerId);
+    if(player == null)
+      return;
+    player.play();
+  }
+
+  @ReactMethod
+  public void pause(String playerId) {
+    var player = getPlayer(playerId);
+    if(player == null)
+      return;
     player.pause();
+  }
+
+  @ReactMethod
+  public void setLoop(String playerId, boolean loop) {
+    var player = getPlayer(playerId);
+    if(player == null)
+      return;
+    player.setLoop(loop);
+  }
+
+  @ReactMethod
+  public void setLoopRange(String playerId, double startMs, double endMs) {
+    var player = getPlayer(playerId);
+    if(player == null)
+      return;
+    player.setLoopRange((long) startMs, (long) endMs);
+  }
+
+  @ReactMethod
+  public void setBufferProfile(String playerId, ReadableMap profile, Promise promise) {
+    var player = getPlayer(playerId);
+    if(player == null) {
+      promise.reject("E_PLAYER_NOT_FOUND", "playerId is invalid");
+      return;
+    }
+    try {
+      player.setBufferProfile(BufferProfile.fromReadableMap(profile));
+    } catch (IllegalArgumentException e) {
+      promise.reject("E_INVALID_BUFFER_PROFILE", e.getMessage());
+      return;
+    }
     promise.resolve(null);
   }
 
   @ReactMethod
-  public void setLoop(String playerId, boolean loop, Promise promise) {
-    var player = players.get(playerId);
+  public void setBufferSize(String playerId, double bytes, Promise promise) {
+    var player = getPlayer(playerId);
     if(player == null) {
       promise.reject("E_PLAYER_NOT_FOUND", "playerId is invalid");
       return;
     }
-    player.setLoop(loop);
+    try {
+      player.setBufferSize((int) bytes);
+    } catch (IllegalArgumentException e) {
+      promise.reject("E_INVALID_BUFFER_PROFILE", e.getMessage());
+      return;
+    }
     promise.resolve(null);
   }
 
   @ReactMethod
-  public void setVolume(String playerId, double volume, Promise promise) {
-    var player = players.get(playerId);
+  public void setVideoConstraints(String playerId, ReadableMap constraints) {
+    var player = getPlayer(playerId);
+    if(player == null)
+      return;
+    player.setVideoConstraints(
+      constraints.hasKey("maxBitrate") ? constraints.getInt("maxBitrate") : 0,
+      constraints.hasKey("maxWidth") ? constraints.getInt("maxWidth") : 0,
+      constraints.hasKey("maxHeight") ? constraints.getInt("maxHeight") : 0
+    );
+  }
+
+  @ReactMethod
+  public void setProgressInterval(String playerId, int intervalMs) {
+    var player = getPlayer(playerId);
+    if(player == null)
+      return;
+    player.setProgressInterval(intervalMs);
+  }
+
+  @ReactMethod
+  public void setMetricsInterval(String playerId, int intervalMs) {
+    var player = getPlayer(playerId);
+    if(player == null)
+      return;
+    player.setMetricsInterval(intervalMs);
+  }
+
+  @ReactMethod
+  public void getMetrics(String playerId, Promise promise) {
+    var player = getPlayer(playerId);
     if(player == null) {
       promise.reject("E_PLAYER_NOT_FOUND", "playerId is invalid");
       return;
     }
+    promise.resolve(player.getMetrics());
+  }
+
+  @ReactMethod
+  public void setVolume(String playerId, double volume) {
+    var player = getPlayer(playerId);
+    if(player == null)
+      return;
     player.setVolume(volume);
-    promise.resolve(null);
   }
 
   @ReactMethod
   public void seek(String playerId, ReadableMap seek, Promise promise) {
-    var player = players.get(playerId);
+    var player = getPlayer(playerId);
     if(player == null) {
       promise.reject("E_PLAYER_NOT_FOUND", "playerId is invalid");
       return;
@@ -133,19 +339,367 @@ public class PlaybackModule extends ReactContextBaseJavaModule implements Lifecy
   }
 
   @ReactMethod
-  public void fadeVolume(String playerId, float target, float duration, float fromVolume, Promise promise) {
-    var player = players.get(playerId);
-    if(player == null) {
+  public void fadeVolume(String playerId, float target, float duration, float fromVolume, @Nullable String curve) {
+    var player = getPlayer(playerId);
+    if(player == null)
+      return;
+    player.fadeVolume(target, duration, fromVolume, parseFadeCurve(curve, FadeCurve.LINEAR));
+  }
+
+  // Unknown curves fall back to linear on every fade path; an omitted curve
+  // takes the caller's default.
+  private static FadeCurve parseFadeCurve(@Nullable String curve, FadeCurve defaultCurve) {
+    if(curve == null)
+      return defaultCurve;
+    try {
+      return FadeCurve.fromString(curve);
+    } catch (IllegalArgumentException e) {
+      Log.w(NAME, e.getMessage() + ", using " + FadeCurve.LINEAR.name);
+      return FadeCurve.LINEAR;
+    }
+  }
+
+  @ReactMethod
+  public void crossfade(String fromId, String toId, double durationMs, @Nullable String curve, Promise promise) {
+    var from = getPlayer(fromId);
+    var to = getPlayer(toId);
+    if(from == null || to == null) {
       promise.reject("E_PLAYER_NOT_FOUND", "playerId is invalid");
       return;
     }
-    player.fadeVolume(target, duration, fromVolume);
+    if(from == to || durationMs <= 0) {
+      promise.reject("E_INVALID_ARGS", "crossfade needs two players and a positive duration");
+      return;
+    }
+    to.crossfadeFrom(from, (long) durationMs, parseFadeCurve(curve, FadeCurve.EQUAL_POWER), new CrossfadeCallback() {
+      @Override
+      public void onStart() {
+        promise.resolve(null);
+      }
+
+      @Override
+      public void onError(String code, String message) {
+        promise.reject(code, message);
+      }
+    });
+  }
+
+  @ReactMethod(isBlockingSynchronousMethod = true)
+  public double getCurrentTime(String playerId) {
+    var player = getPlayer(playerId);
+    if(player == null)
+      return 0;
+    return player.getSnapshot().getCurrentPosition() / 1000.0;
+  }
+
+  @ReactMethod(isBlockingSynchronousMethod = true)
+  public double getBufferedPosition(String playerId) {
+    var player = getPlayer(playerId);
+    if(player == null)
+      return 0;
+    return player.getSnapshot().bufferedPositionMs / 1000.0;
+  }
+
+  @ReactMethod(isBlockingSynchronousMethod = true)
+  public double getDuration(String playerId) {
+    var player = getPlayer(playerId);
+    if(player == null)
+      return 0;
+    long durationMs = player.getSnapshot().durationMs;
+    return durationMs == C.TIME_UNSET ? 0 : durationMs / 1000.0;
+  }
+
+  @ReactMethod(isBlockingSynchronousMethod = true)
+  public boolean isPlaying(String playerId) {
+    var player = getPlayer(playerId);
+    if(player == null)
+      return false;
+    return player.getSnapshot().playing;
+  }
+
+  @ReactMethod
+  public void executeBatch(ReadableArray commands, Promise promise) {
+    PlayerThread.post(() -> {
+      WritableArray results = Arguments.createArray();
+      for (int i = 0; i < commands.size(); i++) {
+        ReadableMap command = commands.getMap(i);
+        WritableMap result = Arguments.createMap();
+        String error = command == null ? "E_INVALID_COMMAND" : executeCommand(command);
+        result.putBoolean("ok", error == null);
+        if(error != null)
+          result.putString("error", error);
+        results.pushMap(result);
+      }
+      promise.resolve(results);
+    });
+  }
+
+  @Nullable
+  private String executeCommand(ReadableMap command) {
+    var player = getPlayer(command.hasKey("playerId") ? command.getString("playerId") : null);
+    if(player == null)
+      return "E_PLAYER_NOT_FOUND";
+    String op = command.hasKey("op") ? command.getString("op") : null;
+    ReadableArray args = command.hasKey("args") ? command.getArray("args") : null;
+    if(op == null)
+      return "E_INVALID_COMMAND";
+    try {
+      switch (op) {
+        case "play":
+          player.play();
+          break;
+        case "pause":
+          player.pause();
+          break;
+        case "setSource":
+          setSource(player, args.getMap(0));
+          break;
+        case "setVolume":
+          player.setVolume(args.getDouble(0));
+          break;
+        case "setLoop":
+          player.setLoop(args.getBoolean(0));
+          break;
+        case "seek":
+          player.seek(args.getMap(0), seeked -> {});
+          break;
+        case "fadeVolume":
+          player.fadeVolume((float) args.getDouble(0), (float) args.getDouble(1), (float) args.getDouble(2), parseFadeCurve(args.size() > 3 ? args.getString(3) : null, FadeCurve.LINEAR));
+          break;
+        case "enqueue":
+          if(!Player.isValidQueue(args.getArray(0)))
+            return "E_INVALID_QUEUE";
+          player.enqueue(args.getArray(0));
+          break;
+        case "skipTo":
+          player.skipTo(args.getInt(0));
+          break;
+        case "setProgressInterval":
+          player.setProgressInterval(args.getInt(0));
+          break;
+        case "setBufferProfile":
+          player.setBufferProfile(BufferProfile.fromReadableMap(args.getMap(0)));
+          break;
+        default:
+          return "E_UNKNOWN_OP";
+      }
+    } catch (RuntimeException e) {
+      return "E_INVALID_ARGS";
+    }
+    return null;
+  }
+
+  @ReactMethod
+  public void configureCache(ReadableMap config, Promise promise) {
+    long maxSize = config.hasKey("maxSize") ? (long) config.getDouble("maxSize") : 0;
+    String evictionPolicy = config.hasKey("evictionPolicy") ? config.getString("evictionPolicy") : null;
+    if(evictionPolicy != null && !evictionPolicy.equals(MediaCache.EVICTION_LRU) && !evictionPolicy.equals(MediaCache.EVICTION_NONE)) {
+      promise.reject("E_INVALID_CONFIG", "evictionPolicy must be 'lru' or 'none'");
+      return;
+    }
+    if(!MediaCache.configure(maxSize, evictionPolicy)) {
+      promise.reject("E_CACHE_IN_USE", "cache is already initialized, configure it before creating players");
+      return;
+    }
+    promise.resolve(null);
+  }
+
+  @ReactMethod
+  public void configureNetwork(ReadableMap config, Promise promise) {
+    NetworkClient.configure(
+      config.hasKey("connectTimeoutMs") ? config.getInt("connectTimeoutMs") : 0,
+      config.hasKey("readTimeoutMs") ? config.getInt("readTimeoutMs") : 0
+    );
+    promise.resolve(null);
+  }
+
+  @ReactMethod
+  public void getCacheInfo(Promise promise) {
+    WritableMap result = Arguments.createMap();
+    result.putDouble("size", MediaCache.getSize(getReactApplicationContext()));
+    result.putDouble("maxSize", MediaCache.getMaxSize());
+    promise.resolve(result);
+  }
+
+  @ReactMethod
+  public void clearCache(Promise promise) {
+    MediaCache.clear(getReactApplicationContext());
+    promise.resolve(null);
+  }
+
+  @ReactMethod
+  public void preload(String preloadId, String url, ReadableMap options, Promise promise) {
+    long bytes = options.hasKey("bytes") ? (long) options.getDouble("bytes") : Preloader.DEFAULT_BYTES;
+    int priority = options.hasKey("priority") ? options.getInt("priority") : 0;
+    var headers = NetworkClient.toHeaders(options.hasKey("headers") ? options.getMap("headers") : null);
+    Preloader.preload(getReactApplicationContext(), preloadId, url, headers, bytes, priority, new PreloadCallback() {
+      @Override
+      public void onComplete(long bytesCached) {
+        WritableMap result = Arguments.createMap();
+        result.putDouble("bytesCached", bytesCached);
+        promise.resolve(result);
+      }
+
+      @Override
+      public void onError(String code, String message) {
+        promise.reject(code, message);
+      }
+    });
+  }
+
+  @ReactMethod
+  public void cancelPreload(String preloadId, Promise promise) {
+    promise.resolve(Preloader.cancel(preloadId));
+  }
+
+  @ReactMethod
+  public void setMaxConcurrentPreloads(int maxConcurrent, Promise promise) {
+    Preloader.setMaxConcurrent(maxConcurrent);
+    promise.resolve(null);
+  }
+
+  @ReactMethod
+  public void download(String url, ReadableMap options, Promise promise) {
+    String downloadId = options.hasKey("id") ? options.getString("id") : url;
+    int priority = options.hasKey("priority") ? options.getInt("priority") : 0;
+    PlayerThread.run(() -> DownloadStore.download(getReactApplicationContext(), downloadId, url, priority, new DownloadCallback() {
+      @Override
+      public void onQueued(String queuedId) {
+        promise.resolve(queuedId);
+      }
+
+      @Override
+      public void onError(String code, String message) {
+        promise.reject(code, message);
+      }
+    }));
+  }
+
+  @ReactMethod
+  public void removeDownload(String downloadId, Promise promise) {
+    PlayerThread.run(() -> {
+      DownloadStore.remove(getReactApplicationContext(), downloadId);
+      promise.resolve(null);
+    });
+  }
+
+  @ReactMethod
+  public void getDownloads(Promise promise) {
+    PlayerThread.run(() -> {
+      try {
+        promise.resolve(DownloadStore.getDownloads(getReactApplicationContext()));
+      } catch (IOException e) {
+        promise.reject("E_DOWNLOAD_INDEX", e.getMessage());
+      }
+    });
+  }
+
+  @ReactMethod
+  public void setMaxParallelDownloads(int maxParallel, Promise promise) {
+    PlayerThread.run(() -> {
+      DownloadStore.setMaxParallel(getReactApplicationContext(), maxParallel);
+      promise.resolve(null);
+    });
+  }
+
+  @ReactMethod
+  public void getThumbnails(String url, ReadableArray timesMs, ReadableMap options, Promise promise) {
+    double[] times = new double[timesMs.size()];
+    for (int i = 0; i < times.length; i++) {
+      times[i] = timesMs.getDouble(i);
+    }
+    int maxWidth = options.hasKey("maxWidth") ? options.getInt("maxWidth") : ThumbnailExtractor.DEFAULT_MAX_WIDTH;
+    var headers = NetworkClient.toHeaders(options.hasKey("headers") ? options.getMap("headers") : null);
+    ThumbnailExtractor.getThumbnails(getReactApplicationContext(), url, times, maxWidth, headers, new ThumbnailCallback() {
+      @Override
+      public void onComplete(List<String> uris) {
+        WritableArray result = Arguments.createArray();
+        for (String uri : uris) {
+          if (uri == null)
+            result.pushNull();
+          else
+            result.pushString(uri);
+        }
+        promise.resolve(result);
+      }
+
+      @Override
+      public void onError(String code, String message) {
+        promise.reject(code, message);
+      }
+    });
+  }
+
+  @ReactMethod
+  public void configureThumbnailCache(ReadableMap config, Promise promise) {
+    int memoryBytes = config.hasKey("memoryBytes") ? config.getInt("memoryBytes") : 0;
+    long diskBytes = config.hasKey("diskBytes") ? (long) config.getDouble("diskBytes") : -1;
+    ThumbnailExtractor.configure(memoryBytes, diskBytes);
     promise.resolve(null);
   }
 
   @ReactMethod
-  public void addListener(String eventName) { }
+  public void clearThumbnails(Promise promise) {
+    ThumbnailExtractor.clear(getReactApplicationContext());
+    promise.resolve(null);
+  }
 
   @ReactMethod
-  public void removeListeners(Integer count) { }
+  public void getBandwidthEstimate(Promise promise) {
+    WritableMap result = Arguments.createMap();
+    result.putDouble("bitrateEstimate", BandwidthEstimator.getBitrateEstimate(getReactApplicationContext()));
+    result.putInt("networkType", BandwidthEstimator.getNetworkType(getReactApplicationContext()));
+    promise.resolve(result);
+  }
+
+  @ReactMethod
+  public void setPlayerPoolSize(int size, Promise promise) {
+    PlayerThread.run(() -> {
+      PlayerPool.setMaxSize(size);
+      promise.resolve(null);
+    });
+  }
+
+  @ReactMethod
+  public void setMaxHotPlayers(int max, Promise promise) {
+    PlayerThread.run(() -> {
+      PlayerLifecycle.setMaxHotPlayers(max);
+      promise.resolve(null);
+    });
+  }
+
+  @ReactMethod
+  public void setMaxVideoDecoders(int max, Promise promise) {
+    PlayerThread.run(() -> {
+      CodecBudget.setMaxVideoDecoders(max);
+      promise.resolve(null);
+    });
+  }
+
+  @ReactMethod
+  public void warmPlayerPool(int count, Promise promise) {
+    PlayerThread.run(() -> {
+      PlayerPool.warmUp(getReactApplicationContext(), count);
+      promise.resolve(null);
+    });
+  }
+
+  @ReactMethod
+  public void setEventSubscriptions(String playerId, ReadableArray eventTypes) {
+    List<String> subscriptions = new ArrayList<>(eventTypes.size());
+    for (int i = 0; i < eventTypes.size(); i++) {
+      subscriptions.add(eventTypes.getString(i));
+    }
+    EventRegistry.setSubscriptions(playerId, subscriptions);
+  }
+
+  @ReactMethod
+  public void addListener(String eventName) {
+    EventRegistry.addListener();
+  }
+
+  @ReactMethod
+  public void removeListeners(Integer count) {
+    EventRegistry.removeListeners(count);
+  }
 }
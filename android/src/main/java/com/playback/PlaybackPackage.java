@@ -22,6 +22,6 @@ public class PlaybackPackage implements ReactPackage {
   @NonNull
   @Override
   public List<ViewManager> createViewManagers(@NonNull ReactApplicationContext reactContext) {
-    return List.of(new VideoViewManager());
+    return List.of(new VideoViewManager(), new TextureVideoViewManager());
   }
 }
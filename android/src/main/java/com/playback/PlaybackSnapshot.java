@@ -0,0 +1,46 @@
+package com.playback;
+
+import android.os.SystemClock;
+
+import androidx.media3.common.C;
+import androidx.media3.exoplayer.ExoPlayer;
+
+public final class PlaybackSnapshot {
+  public static final PlaybackSnapshot EMPTY = new PlaybackSnapshot(0, 0, C.TIME_UNSET, false, 1, 0);
+
+  public final long positionMs;
+  public final long bufferedPositionMs;
+  public final long durationMs;
+  public final boolean playing;
+  public final float speed;
+  public final long updateTimeMs;
+
+  private PlaybackSnapshot(long positionMs, long bufferedPositionMs, long durationMs, boolean playing, float speed, long updateTimeMs) {
+    this.positionMs = positionMs;
+    this.bufferedPositionMs = bufferedPositionMs;
+    this.durationMs = durationMs;
+    this.playing = playing;
+    this.speed = speed;
+    this.updateTimeMs = updateTimeMs;
+  }
+
+  public static PlaybackSnapshot from(ExoPlayer player) {
+    return new PlaybackSnapshot(
+      player.getCurrentPosition(),
+      player.getBufferedPosition(),
+      player.getDuration(),
+      player.isPlaying(),
+      player.getPlaybackParameters().speed,
+      SystemClock.elapsedRealtime()
+    );
+  }
+
+  public long getCurrentPosition() {
+    if (!playing)
+      return positionMs;
+    long position = positionMs + (long) ((SystemClock.elapsedRealtime() - updateTimeMs) * speed);
+    if (durationMs != C.TIME_UNSET)
+      position = Math.min(position, durationMs);
+    return position;
+  }
+}
@@ -5,93 +5,129 @@ import static androidx.media3.common.Player.STATE_ENDED;
 import static androidx.media3.common.Player.STATE_IDLE;
 import static androidx.media3.common.Player.STATE_READY;
 
-import android.os.Handler;
+import android.os.Bundle;
+import android.view.SurfaceView;
+import android.view.TextureView;
+import android.view.View;
 
 import androidx.annotation.Nullable;
 import androidx.annotation.OptIn;
+import androidx.media3.common.C;
 import androidx.media3.common.MediaItem;
 import androidx.media3.common.PlaybackException;
+import androidx.media3.common.TrackSelectionParameters;
 import androidx.media3.common.VideoSize;
 import androidx.media3.common.util.UnstableApi;
-import androidx.media3.exoplayer.DefaultLoadControl;
-import androidx.media3.exoplayer.DefaultRenderersFactory;
 import androidx.media3.exoplayer.ExoPlayer;
+import androidx.media3.exoplayer.SeekParameters;
+import androidx.media3.exoplayer.analytics.AnalyticsListener;
 import androidx.media3.ui.PlayerView;
 
-import com.facebook.react.bridge.Arguments;
+import java.util.ArrayList;
+import java.util.List;
+
 import com.facebook.react.bridge.ReactContext;
+import com.facebook.react.bridge.ReadableArray;
 import com.facebook.react.bridge.ReadableMap;
 import com.facebook.react.bridge.WritableMap;
 import com.facebook.react.modules.core.DeviceEventManagerModule;
 
-import static com.facebook.react.bridge.UiThreadUtil.runOnUiThread;
+@OptIn(markerClass = UnstableApi.class)
+public class Player implements FadeTarget, ProgressClient {
+  private static final String EXTRA_LOOP_START_MS = "loopStartMs";
+  private static final String EXTRA_LOOP_END_MS = "loopEndMs";
 
-public class Player {
   private ReactContext context;
   public String playerId = "";
   public ExoPlayer player;
 
   public PlayerView playerView;
+  private final List<PlayerView> views = new ArrayList<>();
+  @Nullable private PlayerView outputView;
+  private BufferProfile bufferProfile;
+  private BufferProfile playerBufferProfile;
+  private final boolean audioOnly;
+  private final boolean audioOffload;
   private boolean paused;
-  private double volume;
+  private double volume = 1;
   private boolean loop;
+  private int maxVideoBitrate = Integer.MAX_VALUE;
+  private int maxVideoWidth = Integer.MAX_VALUE;
+  private int maxVideoHeight = Integer.MAX_VALUE;
 
   private androidx.media3.common.Player.Listener eventsListener;
-  private final Handler progressHandler = new Handler();
-  private Runnable progressRunnable;
-
-  private final Handler volumeFadeHandler = new Handler();
-  private Runnable volumeFadeTimer = null;
-  private double volumeFadeStart = 0;
-  private float volumeFadeDuration = 3;
-  private float volumeFadeTarget = 1;
-  private float volumeFadeInitialVolume = 0;
-
-  @OptIn(markerClass = UnstableApi.class)
-  public Player (ReactContext reactContext, String playerId, InitCallback callback) {
+  private volatile PlaybackSnapshot snapshot = PlaybackSnapshot.EMPTY;
+  private final ProgressTracker progressTracker = new ProgressTracker();
+  private final PlaybackMetrics metrics = new PlaybackMetrics();
+  private int metricsIntervalMs = 0;
+  private final ProgressGate metricsGate = new ProgressGate();
+  private androidx.media3.common.Player.Listener readyListener;
+  private CrossfadeCallback pendingCrossfade;
+  private boolean suspended = false;
+  private boolean restoring = false;
+  private boolean videoBudgetLimited = false;
+  private boolean videoHiddenDisabled = false;
+  private boolean pausedByVisibility = false;
+  private boolean visible = true;
+  private PendingSeek activeSeek;
+  private PendingSeek queuedSeek;
+  private boolean seekDiscontinuity = false;
+
+  private static class PendingSeek {
+    final long positionMs;
+    final SeekParameters seekParameters;
+    final SeekCallback callback;
+
+    PendingSeek(long positionMs, SeekParameters seekParameters, SeekCallback callback) {
+      this.positionMs = positionMs;
+      this.seekParameters = seekParameters;
+      this.callback = callback;
+    }
+  }
+  private final AnalyticsListener decoderListener = new AnalyticsListener() {
+    @Override
+    public void onVideoDecoderInitialized(EventTime eventTime, String decoderName, long initializedTimestampMs, long initializationDurationMs) {
+      WritableMap params = createEvent("ON_VIDEO_DECODER");
+      if (params == null)
+        return;
+      params.putString("decoderName", decoderName);
+      params.putDouble("initializationMs", initializationDurationMs);
+      params.putBoolean("videoEnabled", true);
+      sendEvent(params);
+    }
+  };
+
+  private final ExoPlayer.AudioOffloadListener audioOffloadListener = new ExoPlayer.AudioOffloadListener() {
+    @Override
+    public void onOffloadedPlayback(boolean offloadedPlayback) {
+      WritableMap params = createEvent("ON_AUDIO_OFFLOAD");
+      if (params == null)
+        return;
+      params.putBoolean("offloaded", offloadedPlayback);
+      sendEvent(params);
+    }
+  };
+
+  public Player (ReactContext reactContext, String playerId, BufferProfile bufferProfile, boolean audioOnly, boolean audioOffload, InitCallback callback) {
     this.context = reactContext;
+    this.bufferProfile = bufferProfile;
+    this.audioOnly = audioOnly;
+    this.audioOffload = audioOffload;
 
-    runOnUiThread(() -> {
+    PlayerThread.run(() -> {
       this.playerId = playerId;
-      DefaultRenderersFactory renderersFactory = new DefaultRenderersFactory(context)
-              .setEnableDecoderFallback(true)
-              .setExtensionRendererMode(DefaultRenderersFactory.EXTENSION_RENDERER_MODE_ON);
-      DefaultLoadControl loadControl = new DefaultLoadControl.Builder().setBufferDurationsMs(
-                DefaultLoadControl.DEFAULT_MIN_BUFFER_MS,
-                DefaultLoadControl.DEFAULT_MAX_BUFFER_MS,
-                DefaultLoadControl.DEFAULT_BUFFER_FOR_PLAYBACK_MS,
-                DefaultLoadControl.DEFAULT_BUFFER_FOR_PLAYBACK_AFTER_REBUFFER_MS
-              ).build();
-      this.player = new ExoPlayer.Builder(reactContext).setLoadControl(loadControl).setRenderersFactory(renderersFactory).build();
-
-      this.progressRunnable = new Runnable() {
-        private void sendEvent(@Nullable WritableMap params) {
-          reactContext
-            .getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class)
-            .emit("playerEvent", params);
-        }
-
-        @Override
-        public void run() {
-          runOnUiThread(() -> {
-            if (player != null && player.isPlaying()) {
-              WritableMap params = Arguments.createMap();
-              params.putString("eventType", "ON_PROGRESS");
-              params.putString("playerId", playerId);
-              params.putDouble("currentTime", player.getCurrentPosition() / 1000);
-              params.putDouble("duration", player.getDuration() / 1000);
-              sendEvent(params);
-              progressHandler.postDelayed(this, 500);
-            }
-          });
-        }
-      };
+      this.player = createExoPlayer();
 
       this.eventsListener = new androidx.media3.common.Player.Listener() {
-        private void sendEvent(@Nullable WritableMap params) {
-          reactContext
-            .getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class)
-            .emit("playerEvent", params);
+        @Override
+        public void onEvents(androidx.media3.common.Player eventPlayer, androidx.media3.common.Player.Events events) {
+          androidx.media3.common.Player.Listener.super.onEvents(eventPlayer, events);
+          updateSnapshot();
+          if (activeSeek != null && seekDiscontinuity) {
+            int playbackState = eventPlayer.getPlaybackState();
+            if (playbackState == STATE_READY || playbackState == STATE_ENDED)
+              completeSeek(true);
+          }
         }
 
         @Override
@@ -99,16 +135,22 @@ public class Player {
           androidx.media3.common.Player.Listener.super.onPlaybackStateChanged(playbackState);
           switch (playbackState) {
             case STATE_BUFFERING: {
-              WritableMap params = Arguments.createMap();
-              params.putString("eventType", "ON_BUFFERING");
-              params.putString("playerId", playerId);
-              sendEvent(params);
+              WritableMap params = createEvent("ON_BUFFERING");
+              if (params != null)
+                sendEvent(params);
               break;
             }
             case STATE_READY: {
-              runOnUiThread(() -> {
+              if (restoring) {
+                restoring = false;
+                break;
+              }
+              PlayerThread.post(() -> {
                 if(player == null)
                   return;
+                WritableMap params = createEvent("ON_LOAD");
+                if(params == null)
+                  return;
                 int videoWidth = 0;
                 int videoHeight = 0;
                 VideoSize videoSize = player.getVideoSize();
@@ -116,9 +158,6 @@ public class Player {
                   videoWidth = videoSize.width;
                   videoHeight = videoSize.height;
                 }
-                WritableMap params = Arguments.createMap();
-                params.putString("eventType", "ON_LOAD");
-                params.putString("playerId", playerId);
                 params.putDouble("duration", player.getDuration() / 1000);
                 params.putDouble("currentTime", player.getCurrentPosition() / 1000);
                 params.putBoolean("canPlayReverse", true);
@@ -134,17 +173,17 @@ public class Player {
               break;
             }
             case STATE_ENDED: {
-              WritableMap params = Arguments.createMap();
-              params.putString("eventType", "ON_END");
-              params.putString("playerId", playerId);
-              sendEvent(params);
+              WritableMap params = createEvent("ON_END");
+              if (params != null)
+                sendEvent(params);
               break;
             }
             case STATE_IDLE: {
-              WritableMap params = Arguments.createMap();
-              params.putString("eventType", "ON_STALLED");
-              params.putString("playerId", playerId);
-              sendEvent(params);
+              if (suspended)
+                break;
+              WritableMap params = createEvent("ON_STALLED");
+              if (params != null)
+                sendEvent(params);
               break;
             }
           }
@@ -153,74 +192,305 @@ public class Player {
         @Override
         public void onIsPlayingChanged(boolean isPlaying) {
           androidx.media3.common.Player.Listener.super.onIsPlayingChanged(isPlaying);
-          WritableMap params = Arguments.createMap();
-          params.putString("eventType", isPlaying ? "ON_PLAY" : "ON_PAUSE");
-          params.putString("playerId", playerId);
-          sendEvent(params);
+          WritableMap params = createEvent(isPlaying ? "ON_PLAY" : "ON_PAUSE");
+          if (params != null)
+            sendEvent(params);
 
           if (isPlaying)
-            progressHandler.post(progressRunnable);
+            ProgressScheduler.register(Player.this);
           else
-            progressHandler.removeCallbacks(progressRunnable);
+            ProgressScheduler.unregister(Player.this);
+          CodecBudget.invalidate();
         }
 
         @Override
         public void onPlayerError(PlaybackException error) {
           androidx.media3.common.Player.Listener.super.onPlayerError(error);
-          WritableMap params = Arguments.createMap();
-          params.putString("eventType", "ON_ERROR");
-          params.putString("playerId", playerId);
-          if(error != null) {
-            params.putInt("errorCode", error.errorCode);
-            params.putString("errorMessage", error.getMessage());
-          }
-          sendEvent(params);
+          cancelSeeks();
+          sendErrorEvent(error);
         }
 
         @Override
         public void onPlayerErrorChanged(PlaybackException error) {
           androidx.media3.common.Player.Listener.super.onPlayerErrorChanged(error);
-          WritableMap params = Arguments.createMap();
-          params.putString("eventType", "ON_ERROR");
-          params.putString("playerId", playerId);
-          if(error != null) {
-            params.putInt("errorCode", error.errorCode);
-            params.putString("errorMessage", error.getMessage());
-          }
-          sendEvent(params);
+          sendErrorEvent(error);
         }
 
         @Override
         public void onPositionDiscontinuity(androidx.media3.common.Player.PositionInfo oldPosition, androidx.media3.common.Player.PositionInfo newPosition, int reason) {
           androidx.media3.common.Player.Listener.super.onPositionDiscontinuity(oldPosition, newPosition, reason);
+          if(reason == androidx.media3.common.Player.DISCONTINUITY_REASON_SEEK)
+            seekDiscontinuity = true;
           if(oldPosition.positionMs <= 0 && newPosition.positionMs <= 0)
             return;
-          WritableMap params = Arguments.createMap();
-          params.putString("eventType", "ON_SEEK");
-          params.putString("playerId", playerId);
+          if(reason != androidx.media3.common.Player.DISCONTINUITY_REASON_SEEK && reason != androidx.media3.common.Player.DISCONTINUITY_REASON_SEEK_ADJUSTMENT)
+            return;
+          WritableMap params = createEvent("ON_SEEK");
+          if(params == null)
+            return;
           params.putDouble("currentTime", (double) newPosition.positionMs / 1000);
           params.putDouble("seekTime", (double) newPosition.positionMs / 1000);
           sendEvent(params);
         }
+
+        @Override
+        public void onMediaItemTransition(@Nullable MediaItem mediaItem, int reason) {
+          androidx.media3.common.Player.Listener.super.onMediaItemTransition(mediaItem, reason);
+          WritableMap params = createEvent("ON_MEDIA_ITEM_TRANSITION");
+          if(params == null || player == null)
+            return;
+          params.putInt("index", player.getCurrentMediaItemIndex());
+          if(mediaItem != null)
+            params.putString("id", mediaItem.mediaId);
+          params.putString("reason", getTransitionReason(reason));
+          sendEvent(params);
+        }
+
+        private String getTransitionReason(int reason) {
+          switch (reason) {
+            case androidx.media3.common.Player.MEDIA_ITEM_TRANSITION_REASON_REPEAT:
+              return "repeat";
+            case androidx.media3.common.Player.MEDIA_ITEM_TRANSITION_REASON_AUTO:
+              return "auto";
+            case androidx.media3.common.Player.MEDIA_ITEM_TRANSITION_REASON_SEEK:
+              return "seek";
+            case androidx.media3.common.Player.MEDIA_ITEM_TRANSITION_REASON_PLAYLIST_CHANGED:
+            default:
+              return "playlistChanged";
+          }
+        }
+
+        private void sendErrorEvent(@Nullable PlaybackException error) {
+          WritableMap params = createEvent("ON_ERROR");
+          if(params == null)
+            return;
+          if(error != null) {
+            params.putInt("errorCode", error.errorCode);
+            params.putString("errorMessage", error.getMessage());
+          }
+          sendEvent(params);
+        }
       };
 
       this.player.addListener(eventsListener);
 
+      VideoView.bindPendingViews(this);
       callback.onCreated();
     });
   }
 
+  @Nullable
+  private WritableMap createEvent(String eventType) {
+    return EventRegistry.createEvent(playerId, eventType);
+  }
+
+  private void sendEvent(WritableMap params) {
+    context
+      .getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class)
+      .emit("playerEvent", params);
+  }
+
+  private ExoPlayer createExoPlayer() {
+    this.playerBufferProfile = this.bufferProfile;
+    ExoPlayer exoPlayer;
+    if (this.audioOnly)
+      exoPlayer = PlayerPool.buildAudioOnly(context, this.playerBufferProfile);
+    else if (this.playerBufferProfile.isDefault())
+      exoPlayer = PlayerPool.acquire(context);
+    else
+      exoPlayer = PlayerPool.build(context, this.playerBufferProfile);
+    applyTrackSelectionParameters(exoPlayer);
+    applyRepeatMode(exoPlayer);
+    exoPlayer.setVolume((float) this.volume);
+    exoPlayer.addAnalyticsListener(metrics);
+    exoPlayer.addAnalyticsListener(decoderListener);
+    exoPlayer.addAudioOffloadListener(audioOffloadListener);
+    return exoPlayer;
+  }
+
+  private void applyTrackSelectionParameters(ExoPlayer exoPlayer) {
+    TrackSelectionParameters.Builder builder = exoPlayer.getTrackSelectionParameters().buildUpon()
+      .setMaxVideoSize(maxVideoWidth, maxVideoHeight)
+      .setMaxVideoBitrate(maxVideoBitrate)
+      .setTrackTypeDisabled(C.TRACK_TYPE_VIDEO, audioOnly || videoBudgetLimited || videoHiddenDisabled)
+      .setTrackTypeDisabled(C.TRACK_TYPE_TEXT, audioOnly);
+    if (audioOffload) {
+      builder.setAudioOffloadPreferences(
+        new TrackSelectionParameters.AudioOffloadPreferences.Builder()
+          .setAudioOffloadMode(TrackSelectionParameters.AudioOffloadPreferences.AUDIO_OFFLOAD_MODE_ENABLED)
+          .build()
+      );
+    }
+    exoPlayer.setTrackSelectionParameters(builder.build());
+  }
+
+  private void releaseExoPlayer() {
+    cancelPendingCrossfade();
+    cancelSeeks();
+    this.suspended = false;
+    this.restoring = false;
+    for (PlayerView view : views) {
+      view.setPlayer(null);
+    }
+    this.outputView = null;
+    if(this.eventsListener != null)
+      this.player.removeListener(this.eventsListener);
+    this.player.removeAnalyticsListener(metrics);
+    this.player.removeAnalyticsListener(decoderListener);
+    this.player.removeAudioOffloadListener(audioOffloadListener);
+    if (!this.audioOnly && this.playerBufferProfile.isDefault())
+      PlayerPool.recycle(this.player);
+    else
+      this.player.release();
+    this.player = null;
+  }
+
+  private void applyBufferProfile() {
+    if(this.player == null || this.bufferProfile.equals(this.playerBufferProfile))
+      return;
+    // The events listener registers the new instance again once it plays.
+    ProgressScheduler.unregister(this);
+    releaseExoPlayer();
+    this.player = createExoPlayer();
+    this.player.addListener(eventsListener);
+    for (PlayerView view : views) {
+      attachView(view);
+    }
+    applyVideoOutput();
+  }
+
+  // Views form a stack: the most recently bound one renders the video. A view
+  // bound again moves back to the top.
+  public void bindView(PlayerView view) {
+    views.remove(view);
+    views.add(view);
+    if(this.player != null) {
+      attachView(view);
+      applyVideoOutput();
+    }
+    updateVisibility();
+  }
+
+  // The next view takes over the output before this one lets go of it, so
+  // the decoder never runs without a surface.
+  public void unbindView(PlayerView view) {
+    if(!views.remove(view))
+      return;
+    applyVideoOutput();
+    if(view.getPlayer() == this.player)
+      view.setPlayer(null);
+    if(this.outputView == view)
+      this.outputView = null;
+    updateVisibility();
+  }
+
+  public void onViewVisibilityChanged(VideoView view) {
+    if(!views.contains(view))
+      return;
+    if(this.player != null) {
+      attachView(view);
+      applyVideoOutput();
+    }
+    updateVisibility();
+  }
+
+  private void attachView(PlayerView view) {
+    boolean attachable = !(view instanceof VideoView) || ((VideoView) view).isSurfaceAttachable();
+    if(attachable) {
+      if(view.getPlayer() != this.player) {
+        view.setPlayer(this.player);
+        this.outputView = view;
+      }
+    } else if(view.getPlayer() != null) {
+      view.setPlayer(null);
+      if(this.outputView == view)
+        this.outputView = null;
+    }
+  }
+
+  // Points the player at the surface of the top attached view. Switching the
+  // output surface keeps the decoder and its buffers, so moving a video to
+  // another view neither re-prepares nor flashes black.
+  private void applyVideoOutput() {
+    if(this.player == null)
+      return;
+    for (int i = views.size() - 1; i >= 0; i--) {
+      PlayerView view = views.get(i);
+      if(view.getPlayer() != this.player)
+        continue;
+      if(view == this.outputView)
+        return;
+      View surface = view.getVideoSurfaceView();
+      if(surface instanceof SurfaceView)
+        this.player.setVideoSurfaceView((SurfaceView) surface);
+      else if(surface instanceof TextureView)
+        this.player.setVideoTextureView((TextureView) surface);
+      else
+        continue;
+      this.outputView = view;
+      return;
+    }
+  }
+
+  // A player counts as visible when any bound view is; views that are not
+  // VideoViews are always considered visible. Hidden policies apply once
+  // every view is hidden.
+  private void updateVisibility() {
+    boolean visible = views.isEmpty();
+    boolean pauseWhenHidden = false;
+    boolean disableVideoWhenHidden = false;
+    float visibleRatio = 0;
+    for (PlayerView view : views) {
+      if (!(view instanceof VideoView)) {
+        visible = true;
+        visibleRatio = 1;
+        continue;
+      }
+      VideoView videoView = (VideoView) view;
+      visible |= videoView.isVisible();
+      visibleRatio = Math.max(visibleRatio, videoView.getVisibleRatio());
+      pauseWhenHidden |= VideoView.HIDDEN_POLICY_PAUSE.equals(videoView.getHiddenPolicy());
+      disableVideoWhenHidden |= VideoView.HIDDEN_POLICY_DISABLE_VIDEO.equals(videoView.getHiddenPolicy());
+    }
+
+    boolean hiddenDisabled = !visible && disableVideoWhenHidden;
+    if (hiddenDisabled != this.videoHiddenDisabled) {
+      this.videoHiddenDisabled = hiddenDisabled;
+      if (this.player != null)
+        applyTrackSelectionParameters(this.player);
+    }
+
+    if (!visible && pauseWhenHidden && this.player != null && this.player.getPlayWhenReady()) {
+      this.pausedByVisibility = true;
+      this.paused = true;
+      this.player.pause();
+    } else if (visible && this.pausedByVisibility) {
+      play();
+    }
+
+    CodecBudget.invalidate();
+    if (visible == this.visible)
+      return;
+    this.visible = visible;
+    WritableMap params = createEvent("ON_VISIBILITY_CHANGE");
+    if (params == null)
+      return;
+    params.putBoolean("visible", visible);
+    params.putDouble("visibleRatio", visibleRatio);
+    sendEvent(params);
+  }
+
   public void dispose() {
     stopVolumeFade(false);
-    runOnUiThread(() -> {
-      if(this.player != null) {
-        this.player.release();
-        if(this.eventsListener != null)
-          this.player.removeListener(this.eventsListener);
-        this.player = null;
-      }
+    PlayerThread.run(() -> {
+      ProgressScheduler.unregister(this);
+      PlayerLifecycle.remove(this);
+      if(this.player != null)
+        releaseExoPlayer();
+      CodecBudget.invalidate();
+      views.clear();
+      this.snapshot = PlaybackSnapshot.EMPTY;
     });
-    progressHandler.removeCallbacks(progressRunnable);
     this.paused = false;
     this.loop = false;
     this.volume = 1;
@@ -229,13 +499,21 @@ public class Player {
   public void setSource(ReadableMap source) {
     stopVolumeFade(false);
 
-    runOnUiThread(() -> {
+    PlayerThread.run(() -> {
       if(this.player == null)
         return;
 
-      MediaItem mediaItem = MediaItem.fromUri(source.getString("url"));
+      applyBufferProfile();
+
+      MediaItem mediaItem = buildMediaItem(source);
+      metrics.reset();
+      cancelSeeks();
       this.player.setMediaItem(mediaItem);
       this.player.prepare();
+      this.suspended = false;
+      this.restoring = false;
+      PlayerLifecycle.touch(this);
+      CodecBudget.invalidate();
 
       if (source.hasKey("autoplay") && source.getBoolean("autoplay")) {
         this.paused = false;
@@ -252,18 +530,127 @@ public class Player {
     });
   }
 
+  public void setQueue(ReadableArray sources, int startIndex, boolean autoplay) {
+    stopVolumeFade(false);
+
+    PlayerThread.run(() -> {
+      if(this.player == null)
+        return;
+
+      applyBufferProfile();
+
+      List<MediaItem> mediaItems = buildMediaItems(sources);
+      int index = Math.max(0, Math.min(startIndex, mediaItems.size() - 1));
+      metrics.reset();
+      cancelSeeks();
+      this.player.setMediaItems(mediaItems, index, C.TIME_UNSET);
+      this.player.prepare();
+      this.suspended = false;
+      this.restoring = false;
+      PlayerLifecycle.touch(this);
+      CodecBudget.invalidate();
+      this.paused = !autoplay;
+      this.player.setPlayWhenReady(autoplay);
+    });
+  }
+
+  public void enqueue(ReadableArray sources) {
+    PlayerThread.run(() -> {
+      if(this.player == null)
+        return;
+      this.player.addMediaItems(buildMediaItems(sources));
+      if(this.player.getPlaybackState() == STATE_IDLE && !this.suspended)
+        this.player.prepare();
+    });
+  }
+
+  public void removeAt(int index) {
+    PlayerThread.run(() -> {
+      if(this.player == null || index < 0 || index >= this.player.getMediaItemCount())
+        return;
+      this.player.removeMediaItem(index);
+    });
+  }
+
+  public void skipTo(int index) {
+    PlayerThread.run(() -> {
+      if(this.player == null || index < 0 || index >= this.player.getMediaItemCount())
+        return;
+      this.player.seekToDefaultPosition(index);
+    });
+  }
+
+  public void moveItem(int fromIndex, int toIndex) {
+    PlayerThread.run(() -> {
+      if(this.player == null)
+        return;
+      int count = this.player.getMediaItemCount();
+      if(fromIndex < 0 || fromIndex >= count || toIndex < 0 || toIndex >= count)
+        return;
+      this.player.moveMediaItem(fromIndex, toIndex);
+    });
+  }
+
+  // Queue indices are shared with JS, so a queue is only accepted when every
+  // item can be played; skipping one would shift the indices after it.
+  public static boolean isValidQueue(@Nullable ReadableArray sources) {
+    if(sources == null)
+      return false;
+    for (int i = 0; i < sources.size(); i++) {
+      ReadableMap source = sources.getMap(i);
+      if(source == null || !source.hasKey("url") || source.isNull("url"))
+        return false;
+    }
+    return true;
+  }
+
+  private List<MediaItem> buildMediaItems(ReadableArray sources) {
+    List<MediaItem> mediaItems = new ArrayList<>(sources.size());
+    for (int i = 0; i < sources.size(); i++) {
+      mediaItems.add(buildMediaItem(sources.getMap(i)));
+    }
+    return mediaItems;
+  }
+
+  private MediaItem buildMediaItem(ReadableMap source) {
+    String url = source.getString("url");
+    long loopStart = source.hasKey("loopStartMs") ? (long) source.getDouble("loopStartMs") : 0;
+    long loopEnd = source.hasKey("loopEndMs") ? (long) source.getDouble("loopEndMs") : 0;
+    Bundle extras = PlaybackMediaSourceFactory.buildExtras(source);
+    if(loopStart > 0 || loopEnd > 0) {
+      if(extras == null)
+        extras = new Bundle();
+      extras.putLong(EXTRA_LOOP_START_MS, loopStart);
+      extras.putLong(EXTRA_LOOP_END_MS, loopEnd);
+    }
+    MediaItem mediaItem = new MediaItem.Builder()
+      .setUri(url)
+      .setMediaId(source.hasKey("id") ? source.getString("id") : url)
+      .setRequestMetadata(
+        new MediaItem.RequestMetadata.Builder()
+          .setExtras(extras)
+          .build()
+      )
+      .build();
+    return withLoopClipping(mediaItem);
+  }
+
   public void play() {
     this.paused = false;
-    runOnUiThread(() -> {
+    this.pausedByVisibility = false;
+    PlayerThread.run(() -> {
       if(this.player == null)
         return;
+      restore();
+      PlayerLifecycle.touch(this);
       this.player.play();
     });
   }
 
   public void pause() {
     this.paused = true;
-    runOnUiThread(() -> {
+    this.pausedByVisibility = false;
+    PlayerThread.run(() -> {
       if(this.player == null)
         return;
       this.player.pause();
@@ -273,92 +660,417 @@ public class Player {
   public void setVolume(double volume) {
     this.volume = volume;
     stopVolumeFade(false);
-    runOnUiThread(() -> {
+    PlayerThread.run(() -> {
       if(this.player == null)
         return;
       this.player.setVolume((float) volume);
     });
   }
 
+  public void setBufferProfile(BufferProfile bufferProfile) {
+    PlayerThread.run(() -> this.bufferProfile = bufferProfile);
+  }
+
+  // Throws before posting, so callers can reject an invalid size.
+  public void setBufferSize(int bytes) {
+    BufferProfile.validateTargetBufferBytes(bytes);
+    PlayerThread.run(() -> this.bufferProfile = this.bufferProfile.withTargetBufferBytes(bytes));
+  }
+
+  public void setVideoConstraints(int maxBitrate, int maxWidth, int maxHeight) {
+    PlayerThread.run(() -> {
+      this.maxVideoBitrate = maxBitrate > 0 ? maxBitrate : Integer.MAX_VALUE;
+      this.maxVideoWidth = maxWidth > 0 ? maxWidth : Integer.MAX_VALUE;
+      this.maxVideoHeight = maxHeight > 0 ? maxHeight : Integer.MAX_VALUE;
+      if(this.player == null)
+        return;
+      applyTrackSelectionParameters(this.player);
+    });
+  }
+
+  public void setProgressInterval(int intervalMs) {
+    PlayerThread.run(() -> {
+      this.progressTracker.setIntervalMs(intervalMs);
+      ProgressScheduler.update();
+    });
+  }
+
+  public void setMetricsInterval(int intervalMs) {
+    PlayerThread.run(() -> {
+      this.metricsIntervalMs = Math.max(0, intervalMs);
+      ProgressScheduler.update();
+    });
+  }
+
+  @Override
+  public int getSchedulerInterval() {
+    int progressIntervalMs = this.progressTracker.getIntervalMs();
+    if (progressIntervalMs <= 0)
+      return this.metricsIntervalMs;
+    if (this.metricsIntervalMs <= 0)
+      return progressIntervalMs;
+    return Math.min(progressIntervalMs, this.metricsIntervalMs);
+  }
+
+  public WritableMap getMetrics() {
+    return metrics.toWritableMap();
+  }
+
+  @Override
+  public void pollMetrics(long now, long toleranceMs) {
+    if (this.player == null || !metricsGate.markIfDue(now, this.metricsIntervalMs, toleranceMs))
+      return;
+    WritableMap params = createEvent("ON_METRICS");
+    if (params == null)
+      return;
+    params.merge(metrics.toWritableMap());
+    sendEvent(params);
+  }
+
+  @Override
+  public void updateSnapshot() {
+    if (this.player == null)
+      return;
+    this.snapshot = PlaybackSnapshot.from(this.player);
+  }
+
+  public PlaybackSnapshot getSnapshot() {
+    return this.snapshot;
+  }
+
+  @Nullable
+  @Override
+  public WritableMap pollProgress(long now, long toleranceMs) {
+    PlaybackSnapshot snapshot = this.snapshot;
+    return progressTracker.poll(playerId, now, toleranceMs, snapshot.playing, snapshot.positionMs, snapshot.durationMs);
+  }
+
+  // Stops an idle player to free its buffers and decoders. ExoPlayer keeps the
+  // playlist and position across stop(), so restore() only has to prepare again.
+  // Returns false while the player is playing or about to play.
+  boolean suspend() {
+    if (this.player == null || this.player.getPlayWhenReady())
+      return false;
+    if (this.suspended || this.player.getMediaItemCount() == 0 || this.player.getPlaybackState() == STATE_IDLE)
+      return true;
+    this.suspended = true;
+    metrics.onSuspend();
+    this.player.stop();
+    CodecBudget.invalidate();
+    return true;
+  }
+
+  void restore() {
+    if (this.player == null || !this.suspended)
+      return;
+    this.suspended = false;
+    this.restoring = true;
+    this.player.prepare();
+    CodecBudget.invalidate();
+  }
+
+  public void restoreIfBound() {
+    PlayerThread.run(() -> {
+      if (!this.suspended || this.views.isEmpty())
+        return;
+      restore();
+      PlayerLifecycle.touch(this);
+    });
+  }
+
+  boolean needsVideoDecoder() {
+    return this.player != null && !this.audioOnly && !this.suspended && !this.videoHiddenDisabled && this.player.getMediaItemCount() > 0;
+  }
+
+  long getVideoPriority() {
+    long area = 0;
+    for (PlayerView view : views) {
+      if (view instanceof VideoView)
+        area += ((VideoView) view).getVisibleArea();
+      else if (view.isShown())
+        area += (long) view.getWidth() * view.getHeight();
+    }
+    return area;
+  }
+
+  boolean isVideoBudgetLimited() {
+    return this.videoBudgetLimited;
+  }
+
+  void setVideoBudgetLimited(boolean limited) {
+    if (this.videoBudgetLimited == limited)
+      return;
+    this.videoBudgetLimited = limited;
+    if (this.player == null)
+      return;
+    applyTrackSelectionParameters(this.player);
+    if (!limited)
+      return;
+    WritableMap params = createEvent("ON_VIDEO_DECODER");
+    if (params == null)
+      return;
+    params.putNull("decoderName");
+    params.putBoolean("videoEnabled", false);
+    sendEvent(params);
+  }
+
   public void setLoop(boolean loop) {
     this.loop = loop;
+    PlayerThread.run(() -> {
+      if(this.player == null)
+        return;
+      applyRepeatMode(this.player);
+      applyLoopClipping();
+    });
+  }
+
+  // The range is kept with the current item and only clips it while looping.
+  // Changing the clipping of the playing item re-prepares it, which can cause
+  // a short gap.
+  public void setLoopRange(long startMs, long endMs) {
+    PlayerThread.run(() -> {
+      if(this.player == null)
+        return;
+      MediaItem mediaItem = this.player.getCurrentMediaItem();
+      if(mediaItem == null)
+        return;
+      Bundle extras = mediaItem.requestMetadata.extras != null ? new Bundle(mediaItem.requestMetadata.extras) : new Bundle();
+      extras.putLong(EXTRA_LOOP_START_MS, startMs);
+      extras.putLong(EXTRA_LOOP_END_MS, endMs);
+      MediaItem rangedItem = mediaItem.buildUpon()
+        .setRequestMetadata(mediaItem.requestMetadata.buildUpon().setExtras(extras).build())
+        .build();
+      this.player.replaceMediaItem(this.player.getCurrentMediaItemIndex(), withLoopClipping(rangedItem));
+    });
+  }
+
+  // A loop range clips its item only while looping is enabled, so normal
+  // playback is never truncated.
+  private MediaItem withLoopClipping(MediaItem mediaItem) {
+    Bundle extras = mediaItem.requestMetadata.extras;
+    MediaItem.ClippingConfiguration clipping = MediaItem.ClippingConfiguration.UNSET;
+    if(this.loop && extras != null)
+      clipping = buildClippingConfiguration(extras.getLong(EXTRA_LOOP_START_MS), extras.getLong(EXTRA_LOOP_END_MS));
+    if(clipping.equals(mediaItem.clippingConfiguration))
+      return mediaItem;
+    return mediaItem.buildUpon().setClippingConfiguration(clipping).build();
+  }
+
+  private void applyLoopClipping() {
+    for (int i = 0; i < this.player.getMediaItemCount(); i++) {
+      MediaItem mediaItem = this.player.getMediaItemAt(i);
+      MediaItem clippedItem = withLoopClipping(mediaItem);
+      if(clippedItem != mediaItem)
+        this.player.replaceMediaItem(i, clippedItem);
+    }
   }
 
+  private void applyRepeatMode(ExoPlayer exoPlayer) {
+    exoPlayer.setRepeatMode(this.loop ? androidx.media3.common.Player.REPEAT_MODE_ONE : androidx.media3.common.Player.REPEAT_MODE_OFF);
+  }
+
+  private MediaItem.ClippingConfiguration buildClippingConfiguration(long startMs, long endMs) {
+    if(startMs <= 0 && endMs <= 0)
+      return MediaItem.ClippingConfiguration.UNSET;
+    return new MediaItem.ClippingConfiguration.Builder()
+      .setStartPositionMs(Math.max(0, startMs))
+      .setEndPositionMs(endMs > 0 ? endMs : C.TIME_END_OF_SOURCE)
+      .build();
+  }
+
+  // While scrubbing, only the latest target waits behind the seek in flight;
+  // older targets resolve as not seeked. Seeks resolve once the player is
+  // ready at the new position.
   public void seek(ReadableMap seek, SeekCallback callback) {
-    runOnUiThread(() -> {
+    PlayerThread.run(() -> {
       if(player == null) {
         callback.onSeekComplete(false);
         return;
       }
-      var targetPosition = seek.getDouble("time");
-      if(player.getCurrentPosition() / 1000 == targetPosition) {
-        callback.onSeekComplete(false);
+      var request = new PendingSeek((long) (seek.getDouble("time") * 1000), toSeekParameters(seek), callback);
+      boolean scrubbing = seek.hasKey("scrubbing") && seek.getBoolean("scrubbing");
+      if(scrubbing && activeSeek != null) {
+        if(queuedSeek != null)
+          queuedSeek.callback.onSeekComplete(false);
+        queuedSeek = request;
         return;
       }
-      stopVolumeFade(true);
-      this.player.seekTo((long) (targetPosition * 1000));
-      callback.onSeekComplete(true);
+      startSeek(request);
     });
   }
 
-  public void fadeVolume(float target, float duration, float fromVolume) {
-    runOnUiThread(() -> {
+  private void startSeek(PendingSeek request) {
+    if(player.getCurrentPosition() == request.positionMs) {
+      request.callback.onSeekComplete(false);
+      return;
+    }
+    if(activeSeek != null)
+      activeSeek.callback.onSeekComplete(false);
+    stopVolumeFade(true);
+    activeSeek = request;
+    seekDiscontinuity = false;
+    player.setSeekParameters(request.seekParameters);
+    player.seekTo(request.positionMs);
+    if(player.getPlaybackState() == STATE_IDLE)
+      completeSeek(true);
+  }
+
+  private void completeSeek(boolean seeked) {
+    PendingSeek request = activeSeek;
+    activeSeek = null;
+    seekDiscontinuity = false;
+    if(request != null)
+      request.callback.onSeekComplete(seeked);
+    PendingSeek next = queuedSeek;
+    queuedSeek = null;
+    if(next != null && player != null)
+      startSeek(next);
+  }
+
+  private void cancelSeeks() {
+    PendingSeek active = activeSeek;
+    PendingSeek queued = queuedSeek;
+    activeSeek = null;
+    queuedSeek = null;
+    seekDiscontinuity = false;
+    if(active != null)
+      active.callback.onSeekComplete(false);
+    if(queued != null)
+      queued.callback.onSeekComplete(false);
+  }
+
+  private static SeekParameters toSeekParameters(ReadableMap seek) {
+    String mode = seek.hasKey("mode") ? seek.getString("mode") : null;
+    if("closestSync".equals(mode))
+      return SeekParameters.CLOSEST_SYNC;
+    if("previousSync".equals(mode))
+      return SeekParameters.PREVIOUS_SYNC;
+    if("nextSync".equals(mode))
+      return SeekParameters.NEXT_SYNC;
+    if("exact".equals(mode) || !seek.hasKey("tolerance") || seek.isNull("tolerance"))
+      return SeekParameters.EXACT;
+    double tolerance = seek.getDouble("tolerance");
+    if(tolerance <= 0)
+      return SeekParameters.EXACT;
+    long toleranceUs = (long) (tolerance * 1000000);
+    return new SeekParameters(toleranceUs, toleranceUs);
+  }
+
+  public void fadeVolume(float target, float duration, float fromVolume, FadeCurve curve) {
+    PlayerThread.run(() -> {
       if (duration <= 0 || player == null)
         return;
+      startFade(fromVolume, target, (long) (duration * 1000), curve, FadeEngine.now(), null);
+    });
+  }
 
-      if (volumeFadeTimer != null)
-        stopVolumeFade(true);
+  void startFade(float from, float to, long durationMs, FadeCurve curve, long startTimeMs, @Nullable Runnable onFinished) {
+    FadeEngine.start(this, from, to, durationMs, curve, startTimeMs, (volume, cancelled) -> {
+      if (!cancelled) {
+        this.volume = volume;
+        if (onFinished != null)
+          onFinished.run();
+      }
+      WritableMap params = createEvent("ON_FADE_COMPLETE");
+      if (params == null)
+        return;
+      params.putDouble("volume", cancelled ? volume : this.volume);
+      params.putBoolean("cancelled", cancelled);
+      sendEvent(params);
+    });
+  }
 
-      volumeFadeStart = System.currentTimeMillis();
-      volumeFadeTarget = target;
-      volumeFadeDuration = duration;
-      player.setVolume(fromVolume);
-      volumeFadeInitialVolume = fromVolume;
+  // Buffers this player muted, then starts it and fades it in while the
+  // outgoing player fades out and pauses. Both fades share one start time on
+  // the FadeEngine clock.
+  public void crossfadeFrom(Player outgoing, long durationMs, FadeCurve curve, CrossfadeCallback callback) {
+    PlayerThread.run(() -> {
+      if (this.player == null || this.player.getMediaItemCount() == 0) {
+        callback.onError("E_NO_SOURCE", "incoming player has no source");
+        return;
+      }
+      cancelPendingCrossfade();
+      FadeEngine.cancel(this);
+      this.player.setVolume(0);
+      restore();
+      PlayerLifecycle.touch(this);
+      if (this.player.getPlaybackState() == STATE_IDLE)
+        this.player.prepare();
+      if (this.player.getPlaybackState() == STATE_READY) {
+        startCrossfade(outgoing, durationMs, curve, callback);
+        return;
+      }
+      this.pendingCrossfade = callback;
+      this.readyListener = new androidx.media3.common.Player.Listener() {
+        @Override
+        public void onPlaybackStateChanged(int playbackState) {
+          if (playbackState != STATE_READY)
+            return;
+          clearReadyListener();
+          startCrossfade(outgoing, durationMs, curve, callback);
+        }
 
-      this.volumeFadeTimer = new Runnable() {
         @Override
-        public void run() {
-          runOnUiThread(() -> {
-            if (player == null || volumeFadeStart <= 0)
-              return;
-
-            var timePassed = (System.currentTimeMillis() - volumeFadeStart) / 1000 / volumeFadeDuration;
-
-            if (player.getVolume() < volumeFadeTarget) {
-              var volumeIncrement = Math.pow(timePassed, 2) * volumeFadeTarget;
-              var newVolume = Math.min(volumeIncrement, volumeFadeTarget);
-              player.setVolume((float) newVolume);
-              volumeFadeHandler.postDelayed(this, 100);
-            } else if (player.getVolume() > volumeFadeTarget) {
-              var volumeIncrement = -Math.pow(timePassed, 2) + volumeFadeInitialVolume;
-              var newVolume = Math.max(volumeIncrement, volumeFadeTarget);
-              player.setVolume((float) newVolume);
-              volumeFadeHandler.postDelayed(this, 100);
-            } else {
-              volume = volumeFadeTarget;
-              stopVolumeFade(true);
-            }
-          });
+        public void onPlayerError(PlaybackException error) {
+          clearReadyListener();
+          player.setVolume((float) volume);
+          callback.onError("E_CROSSFADE_FAILED", error.getMessage());
         }
       };
+      this.player.addListener(this.readyListener);
+    });
+  }
 
-      volumeFadeHandler.postDelayed(this.volumeFadeTimer, 1000);
+  // The outgoing player gets its own volume back once paused, so crossfading
+  // into it later fades up to that volume instead of to silence.
+  private void startCrossfade(Player outgoing, long durationMs, FadeCurve curve, CrossfadeCallback callback) {
+    long startTimeMs = FadeEngine.now();
+    double outgoingVolume = outgoing.volume;
+    outgoing.startFade(outgoing.getAppliedVolume(), 0, durationMs, curve, startTimeMs, () -> {
+      outgoing.pause();
+      outgoing.volume = outgoingVolume;
+      if (outgoing.player != null)
+        outgoing.player.setVolume((float) outgoingVolume);
     });
+    startFade(0, (float) this.volume, durationMs, curve, startTimeMs, null);
+    play();
+    callback.onStart();
   }
 
-  private void stopVolumeFade (boolean changeVolume) {
-    volumeFadeStart = 0;
-    if(volumeFadeTimer != null) {
-      volumeFadeHandler.removeCallbacks(volumeFadeTimer);
-      volumeFadeTimer = null;
-    }
-    volumeFadeInitialVolume = 0;
-    if(changeVolume) {
-      runOnUiThread(() -> {
-        if (player == null)
-          return;
+  private void clearReadyListener() {
+    if (this.readyListener != null && this.player != null)
+      this.player.removeListener(this.readyListener);
+    this.readyListener = null;
+    this.pendingCrossfade = null;
+  }
+
+  private void cancelPendingCrossfade() {
+    CrossfadeCallback callback = this.pendingCrossfade;
+    clearReadyListener();
+    if (callback == null)
+      return;
+    if (this.player != null)
+      this.player.setVolume((float) this.volume);
+    callback.onError("E_CROSSFADE_CANCELLED", "crossfade was cancelled");
+  }
+
+  @Override
+  public void applyFadeVolume(float volume) {
+    if (player == null)
+      return;
+    player.setVolume(volume);
+  }
+
+  @Override
+  public float getAppliedVolume() {
+    return player != null ? player.getVolume() : (float) volume;
+  }
+
+  private void stopVolumeFade(boolean changeVolume) {
+    PlayerThread.run(() -> {
+      FadeEngine.cancel(this);
+      if (changeVolume && player != null)
         player.setVolume((float) volume);
-      });
-    }
+    });
   }
 }
@@ -0,0 +1,61 @@
+package com.playback;
+
+import android.content.ComponentCallbacks2;
+
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+
+// Tracks which players hold buffers and decoders, most recently used last, and
+// suspends idle ones under memory pressure or when the hot player cap is
+// exceeded. Main thread only.
+public class PlayerLifecycle {
+  public static final int DEFAULT_MAX_HOT_PLAYERS = 4;
+
+  private static final LinkedHashSet<Player> hotPlayers = new LinkedHashSet<>();
+  private static int maxHotPlayers = DEFAULT_MAX_HOT_PLAYERS;
+
+  public static void touch(Player player) {
+    hotPlayers.remove(player);
+    hotPlayers.add(player);
+    evict(player);
+  }
+
+  public static void remove(Player player) {
+    hotPlayers.remove(player);
+  }
+
+  public static void setMaxHotPlayers(int max) {
+    maxHotPlayers = Math.max(0, max);
+    evict(null);
+  }
+
+  public static void suspendInactive() {
+    for (Player player : new ArrayList<>(hotPlayers)) {
+      if (player.suspend())
+        hotPlayers.remove(player);
+    }
+  }
+
+  public static void trim(int level) {
+    if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW)
+      suspendInactive();
+  }
+
+  public static void clear() {
+    hotPlayers.clear();
+  }
+
+  private static void evict(@Nullable Player keep) {
+    if (maxHotPlayers <= 0)
+      return;
+    Iterator<Player> iterator = hotPlayers.iterator();
+    while (hotPlayers.size() > maxHotPlayers && iterator.hasNext()) {
+      Player player = iterator.next();
+      if (player != keep && player.suspend())
+        iterator.remove();
+    }
+  }
+}
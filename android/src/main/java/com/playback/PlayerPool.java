@@ -0,0 +1,109 @@
+package com.playback;
+
+import android.content.ComponentCallbacks2;
+import android.content.Context;
+
+import androidx.annotation.OptIn;
+import androidx.media3.common.C;
+import androidx.media3.common.TrackSelectionParameters;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.exoplayer.DefaultLoadControl;
+import androidx.media3.exoplayer.DefaultRenderersFactory;
+import androidx.media3.exoplayer.ExoPlayer;
+import androidx.media3.exoplayer.RenderersFactory;
+import androidx.media3.exoplayer.SeekParameters;
+
+import java.util.ArrayDeque;
+
+@OptIn(markerClass = UnstableApi.class)
+public class PlayerPool {
+  public static final int DEFAULT_MAX_SIZE = 2;
+
+  private static final ArrayDeque<ExoPlayer> idlePlayers = new ArrayDeque<>();
+  private static int maxSize = DEFAULT_MAX_SIZE;
+
+  public static ExoPlayer acquire(Context context) {
+    ExoPlayer player = idlePlayers.pollFirst();
+    if (player != null)
+      return player;
+    return build(context, BufferProfile.DEFAULT);
+  }
+
+  public static void recycle(ExoPlayer player) {
+    player.stop();
+    player.clearMediaItems();
+    player.clearVideoSurface();
+    player.setPlayWhenReady(false);
+    player.setRepeatMode(androidx.media3.common.Player.REPEAT_MODE_OFF);
+    player.setVolume(1);
+    player.setSeekParameters(SeekParameters.DEFAULT);
+    player.setTrackSelectionParameters(
+      player.getTrackSelectionParameters().buildUpon()
+        .clearVideoSizeConstraints()
+        .setMaxVideoBitrate(Integer.MAX_VALUE)
+        .setTrackTypeDisabled(C.TRACK_TYPE_VIDEO, false)
+        .setAudioOffloadPreferences(TrackSelectionParameters.AudioOffloadPreferences.DEFAULT)
+        .build()
+    );
+    if (idlePlayers.size() >= maxSize) {
+      player.release();
+      return;
+    }
+    idlePlayers.addLast(player);
+  }
+
+  public static void warmUp(Context context, int count) {
+    int target = Math.min(count, maxSize);
+    while (idlePlayers.size() < target) {
+      idlePlayers.addLast(build(context, BufferProfile.DEFAULT));
+    }
+  }
+
+  public static void setMaxSize(int maxSize) {
+    PlayerPool.maxSize = Math.max(0, maxSize);
+    trimTo(PlayerPool.maxSize);
+  }
+
+  public static void trim(int level) {
+    if (level >= ComponentCallbacks2.TRIM_MEMORY_RUNNING_LOW)
+      trimTo(0);
+    else
+      trimTo(idlePlayers.size() / 2);
+  }
+
+  public static void clear() {
+    trimTo(0);
+  }
+
+  private static void trimTo(int size) {
+    while (idlePlayers.size() > size) {
+      ExoPlayer player = idlePlayers.pollLast();
+      if (player != null)
+        player.release();
+    }
+  }
+
+  public static ExoPlayer build(Context context, BufferProfile bufferProfile) {
+    DefaultRenderersFactory renderersFactory = new DefaultRenderersFactory(context)
+            .setEnableDecoderFallback(true)
+            .setExtensionRendererMode(DefaultRenderersFactory.EXTENSION_RENDERER_MODE_ON);
+    return build(context, bufferProfile, renderersFactory);
+  }
+
+  // Audio-only players have their own renderers, so they are never pooled.
+  public static ExoPlayer buildAudioOnly(Context context, BufferProfile bufferProfile) {
+    return build(context, bufferProfile, new AudioOnlyRenderersFactory(context));
+  }
+
+  private static ExoPlayer build(Context context, BufferProfile bufferProfile, RenderersFactory renderersFactory) {
+    DefaultLoadControl loadControl = bufferProfile.buildLoadControl();
+    PlaybackMediaSourceFactory mediaSourceFactory = new PlaybackMediaSourceFactory(context);
+    return new ExoPlayer.Builder(context)
+      .setLoadControl(loadControl)
+      .setRenderersFactory(renderersFactory)
+      .setMediaSourceFactory(mediaSourceFactory)
+      .setBandwidthMeter(BandwidthEstimator.getBandwidthMeter(context))
+      .setPlaybackLooper(PlayerThread.getPlaybackLooper())
+      .build();
+  }
+}
@@ -0,0 +1,34 @@
+package com.playback;
+
+import android.os.Handler;
+import android.os.HandlerThread;
+import android.os.Looper;
+import android.os.Process;
+
+public class PlayerThread {
+  private static final Handler applicationHandler = new Handler(Looper.getMainLooper());
+  private static HandlerThread playbackThread;
+
+  public static synchronized Looper getPlaybackLooper() {
+    if (playbackThread == null) {
+      playbackThread = new HandlerThread("Playback:Playback", Process.THREAD_PRIORITY_AUDIO);
+      playbackThread.start();
+    }
+    return playbackThread.getLooper();
+  }
+
+  public static boolean isCurrentThread() {
+    return Looper.myLooper() == applicationHandler.getLooper();
+  }
+
+  public static void run(Runnable runnable) {
+    if (isCurrentThread())
+      runnable.run();
+    else
+      applicationHandler.post(runnable);
+  }
+
+  public static void post(Runnable runnable) {
+    applicationHandler.post(runnable);
+  }
+}
@@ -0,0 +1,6 @@
+package com.playback;
+
+public interface PreloadCallback {
+  void onComplete(long bytesCached);
+  void onError(String code, String message);
+}
@@ -0,0 +1,170 @@
+package com.playback;
+
+import android.content.Context;
+import android.net.Uri;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.OptIn;
+import androidx.media3.common.C;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.common.util.Util;
+import androidx.media3.datasource.DataSpec;
+import androidx.media3.datasource.cache.CacheWriter;
+
+import androidx.annotation.Nullable;
+
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+public class Preloader {
+  public static final int DEFAULT_MAX_CONCURRENT = 2;
+  public static final long DEFAULT_BYTES = 1024 * 1024;
+
+  private static final Map<String, PreloadTask> tasks = new ConcurrentHashMap<>();
+  private static final AtomicLong sequence = new AtomicLong();
+  private static final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+    DEFAULT_MAX_CONCURRENT,
+    DEFAULT_MAX_CONCURRENT,
+    30,
+    TimeUnit.SECONDS,
+    new PriorityBlockingQueue<>()
+  );
+
+  static {
+    executor.allowCoreThreadTimeOut(true);
+  }
+
+  @OptIn(markerClass = UnstableApi.class)
+  public static void preload(Context context, String preloadId, String url, @Nullable Map<String, String> headers, long bytes, int priority, PreloadCallback callback) {
+    Uri uri = Uri.parse(url);
+    // Local media is not cached, so there is nothing to warm.
+    if (!MediaCache.isCacheable(uri)) {
+      callback.onComplete(0);
+      return;
+    }
+    // CacheWriter only fetches the URL itself, which for an adaptive stream is
+    // the manifest and none of its segments.
+    if (Util.inferContentType(uri) != C.CONTENT_TYPE_OTHER) {
+      callback.onError("E_PRELOAD_UNSUPPORTED", "adaptive streams (HLS, DASH, SmoothStreaming) cannot be preloaded");
+      return;
+    }
+    PreloadTask task = new PreloadTask(context.getApplicationContext(), preloadId, url, headers, bytes, priority, callback);
+    PreloadTask previous = tasks.put(preloadId, task);
+    if (previous != null)
+      previous.cancel();
+    executor.execute(task);
+  }
+
+  public static boolean cancel(String preloadId) {
+    PreloadTask task = tasks.get(preloadId);
+    if (task == null)
+      return false;
+    task.cancel();
+    return true;
+  }
+
+  public static void cancelAll() {
+    for (PreloadTask task : tasks.values()) {
+      task.cancel();
+    }
+  }
+
+  public static synchronized void setMaxConcurrent(int maxConcurrent) {
+    if (maxConcurrent <= 0)
+      return;
+    if (maxConcurrent > executor.getMaximumPoolSize()) {
+      executor.setMaximumPoolSize(maxConcurrent);
+      executor.setCorePoolSize(maxConcurrent);
+    } else {
+      executor.setCorePoolSize(maxConcurrent);
+      executor.setMaximumPoolSize(maxConcurrent);
+    }
+  }
+
+  private static class PreloadTask implements Runnable, Comparable<PreloadTask> {
+    private final Context context;
+    private final String preloadId;
+    private final String url;
+    @Nullable
+    private final Map<String, String> headers;
+    private final long bytes;
+    private final int priority;
+    private final long order = sequence.getAndIncrement();
+    private final PreloadCallback callback;
+    private final AtomicLong bytesCached = new AtomicLong();
+
+    private volatile boolean cancelled = false;
+    private volatile CacheWriter writer;
+
+    PreloadTask(Context context, String preloadId, String url, @Nullable Map<String, String> headers, long bytes, int priority, PreloadCallback callback) {
+      this.context = context;
+      this.preloadId = preloadId;
+      this.url = url;
+      this.headers = headers;
+      this.bytes = bytes;
+      this.priority = priority;
+      this.callback = callback;
+    }
+
+    void cancel() {
+      cancelled = true;
+      CacheWriter writer = this.writer;
+      if (writer != null) {
+        writer.cancel();
+      } else if (executor.remove(this)) {
+        finish();
+      }
+    }
+
+    @OptIn(markerClass = UnstableApi.class)
+    @Override
+    public void run() {
+      if (cancelled) {
+        finish();
+        return;
+      }
+      DataSpec dataSpec = new DataSpec.Builder()
+        .setUri(Uri.parse(url))
+        .setLength(bytes > 0 ? bytes : C.LENGTH_UNSET)
+        .build();
+      writer = new CacheWriter(
+        MediaCache.getDataSourceFactory(context, headers).createDataSource(),
+        dataSpec,
+        null,
+        (requestLength, bytesCached, newBytesCached) -> this.bytesCached.set(bytesCached)
+      );
+      if (cancelled)
+        writer.cancel();
+      try {
+        writer.cache();
+        tasks.remove(preloadId, this);
+        callback.onComplete(bytesCached.get());
+      } catch (InterruptedIOException e) {
+        finish();
+      } catch (Exception e) {
+        tasks.remove(preloadId, this);
+        if (cancelled)
+          callback.onError("E_PRELOAD_CANCELLED", "preload was cancelled");
+        else
+          callback.onError("E_PRELOAD_FAILED", e.getMessage());
+      }
+    }
+
+    private void finish() {
+      tasks.remove(preloadId, this);
+      callback.onError("E_PRELOAD_CANCELLED", "preload was cancelled");
+    }
+
+    @Override
+    public int compareTo(@NonNull PreloadTask other) {
+      if (priority != other.priority)
+        return Integer.compare(other.priority, priority);
+      return Long.compare(order, other.order);
+    }
+  }
+}
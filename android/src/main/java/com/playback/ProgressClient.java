@@ -0,0 +1,10 @@
+package com.playback;
+
+import com.facebook.react.bridge.WritableMap;
+
+public interface ProgressClient {
+  int getSchedulerInterval();
+  void updateSnapshot();
+  void pollMetrics(long now, long toleranceMs);
+  WritableMap pollProgress(long now, long toleranceMs);
+}
@@ -0,0 +1,35 @@
+package com.playback;
+
+public class ProgressGate {
+  private long lastTime = 0;
+  private long lastPosition = -1;
+  private long lastDuration = -1;
+
+  public boolean isDue(long now, int intervalMs, long toleranceMs) {
+    if (intervalMs <= 0)
+      return false;
+    return now - lastTime >= intervalMs - toleranceMs;
+  }
+
+  public boolean markIfDue(long now, int intervalMs, long toleranceMs) {
+    if (!isDue(now, intervalMs, toleranceMs))
+      return false;
+    lastTime = now;
+    return true;
+  }
+
+  public boolean markIfChanged(long now, long position, long duration) {
+    if (position == lastPosition && duration == lastDuration)
+      return false;
+    lastTime = now;
+    lastPosition = position;
+    lastDuration = duration;
+    return true;
+  }
+
+  public void reset() {
+    lastTime = 0;
+    lastPosition = -1;
+    lastDuration = -1;
+  }
+}
@@ -0,0 +1,81 @@
+package com.playback;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.ReactContext;
+import com.facebook.react.bridge.WritableArray;
+import com.facebook.react.bridge.WritableMap;
+import com.facebook.react.modules.core.DeviceEventManagerModule;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ProgressScheduler {
+  public static final int DEFAULT_INTERVAL_MS = 500;
+  public static final String EVENT_NAME = "playerProgress";
+
+  private static final Handler handler = new Handler(Looper.getMainLooper());
+  private static final List<ProgressClient> players = new ArrayList<>();
+  private static final Runnable tick = ProgressScheduler::onTick;
+  private static ReactContext context;
+  private static int tickIntervalMs = DEFAULT_INTERVAL_MS;
+
+  public static void setContext(ReactContext reactContext) {
+    context = reactContext;
+  }
+
+  public static void register(ProgressClient player) {
+    if (!players.contains(player))
+      players.add(player);
+    update();
+  }
+
+  public static void unregister(ProgressClient player) {
+    if (players.remove(player))
+      update();
+  }
+
+  public static void update() {
+    handler.removeCallbacks(tick);
+    int interval = Integer.MAX_VALUE;
+    for (ProgressClient player : players) {
+      int playerInterval = player.getSchedulerInterval();
+      if (playerInterval > 0)
+        interval = Math.min(interval, playerInterval);
+    }
+    if (interval == Integer.MAX_VALUE)
+      return;
+    tickIntervalMs = interval;
+    handler.post(tick);
+  }
+
+  private static void onTick() {
+    tick(SystemClock.uptimeMillis());
+    handler.postDelayed(tick, tickIntervalMs);
+  }
+
+  // Polls every registered player and emits their progress as one event.
+  static void tick(long now) {
+    WritableArray progress = null;
+    for (ProgressClient player : players) {
+      player.updateSnapshot();
+      player.pollMetrics(now, tickIntervalMs / 2);
+      WritableMap params = player.pollProgress(now, tickIntervalMs / 2);
+      if (params == null)
+        continue;
+      if (progress == null)
+        progress = Arguments.createArray();
+      progress.pushMap(params);
+    }
+    if (progress != null && context != null && context.hasActiveReactInstance()) {
+      WritableMap params = Arguments.createMap();
+      params.putArray("players", progress);
+      context
+        .getJSModule(DeviceEventManagerModule.RCTDeviceEventEmitter.class)
+        .emit(EVENT_NAME, params);
+    }
+  }
+}
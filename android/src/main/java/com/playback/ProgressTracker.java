@@ -0,0 +1,36 @@
+package com.playback;
+
+import com.facebook.react.bridge.Arguments;
+import com.facebook.react.bridge.WritableMap;
+
+// Builds a player's progress entries for the ProgressScheduler: nothing while
+// paused or unobserved, at most one per interval, and none when the position
+// and duration did not change. Takes plain values rather than an ExoPlayer.
+public class ProgressTracker {
+  private final ProgressGate gate = new ProgressGate();
+  private int intervalMs = ProgressScheduler.DEFAULT_INTERVAL_MS;
+
+  public int getIntervalMs() {
+    return intervalMs;
+  }
+
+  public void setIntervalMs(int intervalMs) {
+    this.intervalMs = Math.max(0, intervalMs);
+  }
+
+  public WritableMap poll(String playerId, long now, long toleranceMs, boolean playing, long position, long duration) {
+    if (!playing || intervalMs <= 0)
+      return null;
+    if (!EventRegistry.isSubscribed(playerId, "ON_PROGRESS"))
+      return null;
+    if (!gate.isDue(now, intervalMs, toleranceMs))
+      return null;
+    if (!gate.markIfChanged(now, position, duration))
+      return null;
+    WritableMap params = Arguments.createMap();
+    params.putString("playerId", playerId);
+    params.putDouble("currentTime", position / 1000.0);
+    params.putDouble("duration", duration / 1000.0);
+    return params;
+  }
+}
@@ -0,0 +1,21 @@
+package com.playback;
+
+import androidx.annotation.NonNull;
+
+import com.facebook.react.uimanager.ThemedReactContext;
+
+public class TextureVideoViewManager extends VideoViewManager {
+  public static final String REACT_CLASS = "TextureVideoView";
+
+  @Override
+  @NonNull
+  public String getName() {
+    return REACT_CLASS;
+  }
+
+  @Override
+  @NonNull
+  public VideoView createViewInstance(ThemedReactContext reactContext) {
+    return VideoView.createTextureView(reactContext);
+  }
+}
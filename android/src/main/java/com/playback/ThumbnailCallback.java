@@ -0,0 +1,8 @@
+package com.playback;
+
+import java.util.List;
+
+public interface ThumbnailCallback {
+  void onComplete(List<String> uris);
+  void onError(String code, String message);
+}
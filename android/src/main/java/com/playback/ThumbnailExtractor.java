@@ -0,0 +1,221 @@
+package com.playback;
+
+import android.content.Context;
+import android.graphics.Bitmap;
+import android.media.MediaMetadataRetriever;
+import android.net.Uri;
+import android.os.Build;
+import android.util.LruCache;
+
+import androidx.annotation.Nullable;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+// Extracts downscaled keyframes for seek bar previews with
+// MediaMetadataRetriever. Decoded frames are kept in a byte-bounded LRU and
+// written as JPEGs to a size-bounded disk cache, whose files are returned.
+public class ThumbnailExtractor {
+  public static final int DEFAULT_MAX_WIDTH = 320;
+  public static final long DEFAULT_DISK_BYTES = 32L * 1024 * 1024;
+
+  private static final String CACHE_DIRECTORY = "playback-thumbnails";
+  private static final int JPEG_QUALITY = 80;
+
+  private static final LruCache<String, Bitmap> memoryCache = new LruCache<String, Bitmap>(getDefaultMemoryBytes()) {
+    @Override
+    protected int sizeOf(String key, Bitmap bitmap) {
+      return bitmap.getByteCount();
+    }
+  };
+  private static final ThreadPoolExecutor executor = new ThreadPoolExecutor(
+    1,
+    1,
+    30,
+    TimeUnit.SECONDS,
+    new LinkedBlockingQueue<>()
+  );
+  private static volatile long maxDiskBytes = DEFAULT_DISK_BYTES;
+
+  static {
+    executor.allowCoreThreadTimeOut(true);
+  }
+
+  public static void configure(int memoryBytes, long diskBytes) {
+    if (memoryBytes > 0)
+      memoryCache.resize(memoryBytes);
+    if (diskBytes >= 0)
+      maxDiskBytes = diskBytes;
+  }
+
+  public static void getThumbnails(Context context, String url, double[] timesMs, int maxWidth, @Nullable Map<String, String> headers, ThumbnailCallback callback) {
+    Context appContext = context.getApplicationContext();
+    executor.execute(() -> {
+      try {
+        callback.onComplete(extract(appContext, url, timesMs, maxWidth > 0 ? maxWidth : DEFAULT_MAX_WIDTH, headers));
+      } catch (RuntimeException | IOException e) {
+        callback.onError("E_THUMBNAIL_FAILED", e.getMessage());
+      }
+    });
+  }
+
+  public static void clear(Context context) {
+    memoryCache.evictAll();
+    executor.execute(() -> {
+      File[] files = getDirectory(context.getApplicationContext()).listFiles();
+      if (files == null)
+        return;
+      for (File file : files) {
+        file.delete();
+      }
+    });
+  }
+
+  private static List<String> extract(Context context, String url, double[] timesMs, int maxWidth, @Nullable Map<String, String> headers) throws IOException {
+    File directory = getDirectory(context);
+    if (!directory.exists() && !directory.mkdirs())
+      throw new IOException("cannot create thumbnail directory");
+    List<String> uris = new ArrayList<>();
+    MediaMetadataRetriever retriever = null;
+    int width = 0;
+    int height = 0;
+    try {
+      for (double timeMs : timesMs) {
+        String key = url + "#" + (long) timeMs + "@" + maxWidth;
+        File file = new File(directory, hash(key) + ".jpg");
+        if (file.exists()) {
+          file.setLastModified(System.currentTimeMillis());
+          uris.add(Uri.fromFile(file).toString());
+          continue;
+        }
+        Bitmap bitmap = memoryCache.get(key);
+        if (bitmap == null) {
+          if (retriever == null) {
+            retriever = open(context, url, headers);
+            width = parseInt(retriever.extractMetadata(MediaMetadataRetriever.METADATA_KEY_VIDEO_WIDTH));
+            height = parseInt(retriever.extractMetadata(MediaMetadataRetriever.METADATA_KEY_VIDEO_HEIGHT));
+            int rotation = parseInt(retriever.extractMetadata(MediaMetadataRetriever.METADATA_KEY_VIDEO_ROTATION));
+            if (rotation == 90 || rotation == 270) {
+              int swap = width;
+              width = height;
+              height = swap;
+            }
+          }
+          bitmap = extractFrame(retriever, (long) (timeMs * 1000), maxWidth, width, height);
+          if (bitmap == null) {
+            uris.add(null);
+            continue;
+          }
+          memoryCache.put(key, bitmap);
+        }
+        write(bitmap, file);
+        uris.add(Uri.fromFile(file).toString());
+      }
+    } finally {
+      if (retriever != null)
+        retriever.release();
+    }
+    trimDisk(directory);
+    return uris;
+  }
+
+  private static MediaMetadataRetriever open(Context context, String url, @Nullable Map<String, String> headers) {
+    MediaMetadataRetriever retriever = new MediaMetadataRetriever();
+    Uri uri = Uri.parse(url);
+    String scheme = uri.getScheme();
+    if ("http".equals(scheme) || "https".equals(scheme))
+      retriever.setDataSource(url, headers != null ? headers : new HashMap<>());
+    else
+      retriever.setDataSource(context, uri);
+    return retriever;
+  }
+
+  @Nullable
+  private static Bitmap extractFrame(MediaMetadataRetriever retriever, long timeUs, int maxWidth, int width, int height) {
+    int targetWidth = width > 0 ? Math.min(maxWidth, width) : maxWidth;
+    int targetHeight = width > 0 && height > 0 ? Math.max(1, Math.round((float) targetWidth * height / width)) : 0;
+    if (Build.VERSION.SDK_INT >= Build.VERSION_CODES.O_MR1 && targetHeight > 0)
+      return retriever.getScaledFrameAtTime(timeUs, MediaMetadataRetriever.OPTION_CLOSEST_SYNC, targetWidth, targetHeight);
+    Bitmap frame = retriever.getFrameAtTime(timeUs, MediaMetadataRetriever.OPTION_CLOSEST_SYNC);
+    if (frame == null || frame.getWidth() <= targetWidth)
+      return frame;
+    int scaledHeight = Math.max(1, Math.round((float) targetWidth * frame.getHeight() / frame.getWidth()));
+    Bitmap scaled = Bitmap.createScaledBitmap(frame, targetWidth, scaledHeight, true);
+    if (scaled != frame)
+      frame.recycle();
+    return scaled;
+  }
+
+  private static void write(Bitmap bitmap, File file) throws IOException {
+    File temp = new File(file.getPath() + ".tmp");
+    try (OutputStream output = new FileOutputStream(temp)) {
+      bitmap.compress(Bitmap.CompressFormat.JPEG, JPEG_QUALITY, output);
+    }
+    if (!temp.renameTo(file))
+      throw new IOException("cannot write thumbnail");
+  }
+
+  private static void trimDisk(File directory) {
+    File[] files = directory.listFiles();
+    if (files == null)
+      return;
+    long size = 0;
+    for (File file : files) {
+      size += file.length();
+    }
+    if (size <= maxDiskBytes)
+      return;
+    Arrays.sort(files, (a, b) -> Long.compare(a.lastModified(), b.lastModified()));
+    for (File file : files) {
+      if (size <= maxDiskBytes)
+        break;
+      long length = file.length();
+      if (file.delete())
+        size -= length;
+    }
+  }
+
+  private static File getDirectory(Context context) {
+    return new File(context.getCacheDir(), CACHE_DIRECTORY);
+  }
+
+  private static int getDefaultMemoryBytes() {
+    return (int) Math.min(Runtime.getRuntime().maxMemory() / 16, 16L * 1024 * 1024);
+  }
+
+  private static int parseInt(@Nullable String value) {
+    if (value == null)
+      return 0;
+    try {
+      return Integer.parseInt(value);
+    } catch (NumberFormatException e) {
+      return 0;
+    }
+  }
+
+  private static String hash(String key) {
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-1").digest(key.getBytes(StandardCharsets.UTF_8));
+      StringBuilder builder = new StringBuilder();
+      for (byte b : digest) {
+        builder.append(String.format("%02x", b));
+      }
+      return builder.toString();
+    } catch (NoSuchAlgorithmException e) {
+      return Integer.toHexString(key.hashCode());
+    }
+  }
+}
@@ -2,42 +2,232 @@ package com.playback;
 
 import android.annotation.SuppressLint;
 import android.content.Context;
+import android.content.res.XmlResourceParser;
+import android.graphics.Rect;
+import android.util.AttributeSet;
+import android.util.Xml;
 import android.view.ViewGroup;
+import android.view.ViewTreeObserver;
 
 import static com.facebook.react.bridge.UiThreadUtil.runOnUiThread;
 
+import androidx.annotation.Nullable;
 import androidx.annotation.OptIn;
 import androidx.media3.common.util.UnstableApi;
 import androidx.media3.ui.AspectRatioFrameLayout;
 import androidx.media3.ui.PlayerView;
 
+import org.xmlpull.v1.XmlPullParser;
+import org.xmlpull.v1.XmlPullParserException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
 @SuppressLint("ViewConstructor")
 public class VideoView extends PlayerView {
+  public static final String HIDDEN_POLICY_NONE = "none";
+  public static final String HIDDEN_POLICY_PAUSE = "pause";
+  public static final String HIDDEN_POLICY_DISABLE_VIDEO = "disableVideo";
+  public static final String HIDDEN_POLICY_RELEASE_SURFACE = "releaseSurface";
+  public static final float DEFAULT_VISIBILITY_THRESHOLD = 0.5f;
+
+  // Views whose playerId does not resolve to a created player yet. Only
+  // touched on the main thread.
+  private static final Map<String, List<VideoView>> pendingViews = new HashMap<>();
+
   private String playerId;
   private Context context;
 
   private String resizeMode;
+  private String hiddenPolicy = HIDDEN_POLICY_NONE;
+  private float visibilityThreshold = DEFAULT_VISIBILITY_THRESHOLD;
+  private float visibleRatio = 0;
+  private boolean visible = false;
+  private final Rect visibleRect = new Rect();
+  private final ViewTreeObserver.OnGlobalLayoutListener layoutListener = this::updateVisibility;
+  private final ViewTreeObserver.OnScrollChangedListener scrollListener = this::updateVisibility;
 
   public VideoView(Context context) {
-    super(context);
+    this(context, null);
+  }
+
+  public VideoView(Context context, @Nullable AttributeSet attrs) {
+    super(context, attrs);
     this.context = context;
     setUseController(false);
   }
 
+  // PlayerView only reads its surface type from XML attributes at
+  // construction, so TextureView instances are built from a resource.
+  public static VideoView createTextureView(Context context) {
+    XmlResourceParser parser = context.getResources().getXml(R.xml.playback_texture_video_view);
+    try {
+      int type;
+      while ((type = parser.next()) != XmlPullParser.START_TAG && type != XmlPullParser.END_DOCUMENT) {}
+      return new VideoView(context, Xml.asAttributeSet(parser));
+    } catch (XmlPullParserException | IOException e) {
+      return new VideoView(context);
+    } finally {
+      parser.close();
+    }
+  }
+
   public void setPlayerId (String playerId) {
+    String previousPlayerId = this.playerId;
     this.playerId = playerId;
-    Player player = PlaybackModule.players.get(playerId);
-    if(player == null || player.player == null)
-      return;
     runOnUiThread(() -> {
-      if(player.player == null)
+      removePendingView(previousPlayerId, this);
+      Player previousPlayer = PlaybackModule.getPlayer(previousPlayerId);
+      Player player = PlaybackModule.getPlayer(playerId);
+      if(previousPlayer != null && previousPlayer != player)
+        previousPlayer.unbindView(this);
+      if(player == null || player.player == null) {
+        addPendingView(playerId, this);
         return;
-      setUseController(false);
-      setPlayer(player.player);
-      applyResizeMode();
+      }
+      bindTo(player);
+    });
+  }
+
+  public void release () {
+    String playerId = this.playerId;
+    runOnUiThread(() -> {
+      removePendingView(playerId, this);
+      Player player = PlaybackModule.getPlayer(playerId);
+      if(player != null)
+        player.unbindView(this);
+      setPlayer(null);
+    });
+  }
+
+  private void bindTo (Player player) {
+    setUseController(false);
+    player.bindView(this);
+    applyResizeMode();
+  }
+
+  public static void bindPendingViews (Player player) {
+    List<VideoView> views = pendingViews.remove(player.playerId);
+    if(views == null)
+      return;
+    for (VideoView view : views) {
+      if(player.playerId.equals(view.playerId))
+        view.bindTo(player);
+    }
+  }
+
+  private static void addPendingView (@Nullable String playerId, VideoView view) {
+    if(playerId == null)
+      return;
+    List<VideoView> views = pendingViews.get(playerId);
+    if(views == null) {
+      views = new ArrayList<>();
+      pendingViews.put(playerId, views);
+    }
+    if(!views.contains(view))
+      views.add(view);
+  }
+
+  private static void removePendingView (@Nullable String playerId, VideoView view) {
+    if(playerId == null)
+      return;
+    List<VideoView> views = pendingViews.get(playerId);
+    if(views == null)
+      return;
+    views.remove(view);
+    if(views.isEmpty())
+      pendingViews.remove(playerId);
+  }
+
+  @Override
+  protected void onAttachedToWindow() {
+    super.onAttachedToWindow();
+    ViewTreeObserver observer = getViewTreeObserver();
+    observer.addOnGlobalLayoutListener(layoutListener);
+    observer.addOnScrollChangedListener(scrollListener);
+    updateVisibility();
+  }
+
+  @Override
+  protected void onDetachedFromWindow() {
+    ViewTreeObserver observer = getViewTreeObserver();
+    observer.removeOnGlobalLayoutListener(layoutListener);
+    observer.removeOnScrollChangedListener(scrollListener);
+    super.onDetachedFromWindow();
+    // The view still reports itself attached while this runs, so recomputing
+    // the ratio would keep it visible.
+    applyVisibleRatio(0);
+  }
+
+  public void setHiddenPolicy (String hiddenPolicy) {
+    runOnUiThread(() -> {
+      this.hiddenPolicy = hiddenPolicy != null ? hiddenPolicy : HIDDEN_POLICY_NONE;
+      notifyPlayer();
+    });
+  }
+
+  public void setVisibilityThreshold (float visibilityThreshold) {
+    runOnUiThread(() -> {
+      this.visibilityThreshold = Math.max(0, Math.min(1, visibilityThreshold));
+      updateVisibility();
     });
   }
 
+  public String getHiddenPolicy() {
+    return hiddenPolicy;
+  }
+
+  public boolean isVisible() {
+    return visible;
+  }
+
+  public float getVisibleRatio() {
+    return visibleRatio;
+  }
+
+  public long getVisibleArea() {
+    return (long) (visibleRatio * getWidth() * getHeight());
+  }
+
+  public boolean isSurfaceAttachable() {
+    return visible || !HIDDEN_POLICY_RELEASE_SURFACE.equals(hiddenPolicy);
+  }
+
+  private void updateVisibility() {
+    applyVisibleRatio(computeVisibleRatio());
+  }
+
+  private void applyVisibleRatio(float ratio) {
+    boolean visible = ratio > 0 && ratio >= visibilityThreshold;
+    this.visibleRatio = ratio;
+    if (visible == this.visible)
+      return;
+    this.visible = visible;
+    notifyPlayer();
+  }
+
+  private float computeVisibleRatio() {
+    long area = (long) getWidth() * getHeight();
+    if (!isAttachedToWindow() || !isShown() || area <= 0 || !getGlobalVisibleRect(visibleRect))
+      return 0;
+    return Math.min(1, (float) ((long) visibleRect.width() * visibleRect.height()) / area);
+  }
+
+  private void notifyPlayer() {
+    Player player = PlaybackModule.getPlayer(this.playerId);
+    if (player != null)
+      player.onViewVisibilityChanged(this);
+  }
+
+  @Override
+  protected void onSizeChanged(int w, int h, int oldw, int oldh) {
+    super.onSizeChanged(w, h, oldw, oldh);
+    CodecBudget.invalidate();
+  }
+
   public void setResizeMode (String resizeMode) {
     runOnUiThread(() -> {
       this.resizeMode = resizeMode;
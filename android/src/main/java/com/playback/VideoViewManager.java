@@ -23,6 +23,12 @@ public class VideoViewManager extends SimpleViewManager<VideoView> {
     return new VideoView(reactContext);
   }
 
+  @Override
+  public void onDropViewInstance(@NonNull VideoView view) {
+    super.onDropViewInstance(view);
+    view.release();
+  }
+
   @ReactProp(name = "playerId")
   public void setPlayerId(VideoView view, String playerId) {
     view.setPlayerId(playerId);
@@ -30,4 +36,10 @@ public class VideoViewManager extends SimpleViewManager<VideoView> {
 
   @ReactProp(name = "resizeMode")
   public void setResizeMode(VideoView view, String resizeMode) { view.setResizeMode(resizeMode); }
+
+  @ReactProp(name = "hiddenPolicy")
+  public void setHiddenPolicy(VideoView view, String hiddenPolicy) { view.setHiddenPolicy(hiddenPolicy); }
+
+  @ReactProp(name = "visibilityThreshold", defaultFloat = VideoView.DEFAULT_VISIBILITY_THRESHOLD)
+  public void setVisibilityThreshold(VideoView view, float visibilityThreshold) { view.setVisibilityThreshold(visibilityThreshold); }
 }
@@ -0,0 +1,83 @@
+package com.playback;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import androidx.media3.common.C;
+
+import com.facebook.react.bridge.JavaOnlyMap;
+
+import org.junit.Test;
+
+public class BufferProfileTest {
+  @Test
+  public void fromPresetResolvesKnownNames() {
+    assertSame(BufferProfile.DEFAULT, BufferProfile.fromPreset(null));
+    assertSame(BufferProfile.DEFAULT, BufferProfile.fromPreset(BufferProfile.PRESET_DEFAULT));
+    assertSame(BufferProfile.LOW_LATENCY_START, BufferProfile.fromPreset(BufferProfile.PRESET_LOW_LATENCY_START));
+    assertSame(BufferProfile.MEMORY_SAVER, BufferProfile.fromPreset(BufferProfile.PRESET_MEMORY_SAVER));
+  }
+
+  @Test
+  public void fromPresetRejectsUnknownNames() {
+    assertThrows(IllegalArgumentException.class, () -> BufferProfile.fromPreset("huge"));
+  }
+
+  @Test
+  public void presetsAreDistinct() {
+    assertTrue(BufferProfile.DEFAULT.isDefault());
+    assertFalse(BufferProfile.LOW_LATENCY_START.isDefault());
+    assertFalse(BufferProfile.MEMORY_SAVER.isDefault());
+    assertNotEquals(BufferProfile.LOW_LATENCY_START, BufferProfile.MEMORY_SAVER);
+  }
+
+  @Test
+  public void equalProfilesHaveEqualHashCodes() {
+    BufferProfile a = new BufferProfile(1000, 2000, 100, 200, 0, 1024, true);
+    BufferProfile b = new BufferProfile(1000, 2000, 100, 200, 0, 1024, true);
+    assertEquals(a, b);
+    assertEquals(a.hashCode(), b.hashCode());
+    assertNotEquals(a, a.withTargetBufferBytes(2048));
+    assertEquals(2048, a.withTargetBufferBytes(2048).targetBufferBytes);
+  }
+
+  @Test
+  public void withTargetBufferBytesValidatesTheSize() {
+    assertEquals(C.LENGTH_UNSET, BufferProfile.MEMORY_SAVER.withTargetBufferBytes(C.LENGTH_UNSET).targetBufferBytes);
+    assertThrows(IllegalArgumentException.class, () -> BufferProfile.DEFAULT.withTargetBufferBytes(0));
+    assertThrows(IllegalArgumentException.class, () -> BufferProfile.DEFAULT.withTargetBufferBytes(-2));
+  }
+
+  @Test
+  public void fromReadableMapDefaultsToDefaultProfile() {
+    assertSame(BufferProfile.DEFAULT, BufferProfile.fromReadableMap(null));
+    assertTrue(BufferProfile.fromReadableMap(new JavaOnlyMap()).isDefault());
+  }
+
+  @Test
+  public void fromReadableMapAppliesOverridesOnTopOfPreset() {
+    JavaOnlyMap map = JavaOnlyMap.of(
+      "preset", BufferProfile.PRESET_MEMORY_SAVER,
+      "maxBufferMs", 20000,
+      "prioritizeTimeOverSize", true
+    );
+    BufferProfile profile = BufferProfile.fromReadableMap(map);
+
+    assertEquals(BufferProfile.MEMORY_SAVER.minBufferMs, profile.minBufferMs);
+    assertEquals(20000, profile.maxBufferMs);
+    assertEquals(BufferProfile.MEMORY_SAVER.targetBufferBytes, profile.targetBufferBytes);
+    assertTrue(profile.prioritizeTimeOverSize);
+  }
+
+  @Test
+  public void fromReadableMapRejectsInconsistentDurations() {
+    assertThrows(IllegalArgumentException.class, () -> BufferProfile.fromReadableMap(JavaOnlyMap.of("minBufferMs", 60000, "maxBufferMs", 30000)));
+    assertThrows(IllegalArgumentException.class, () -> BufferProfile.fromReadableMap(JavaOnlyMap.of("minBufferMs", 1000, "bufferForPlaybackMs", 2000)));
+    assertThrows(IllegalArgumentException.class, () -> BufferProfile.fromReadableMap(JavaOnlyMap.of("backBufferMs", -1)));
+    assertThrows(IllegalArgumentException.class, () -> BufferProfile.fromReadableMap(JavaOnlyMap.of("preset", "huge")));
+  }
+}
@@ -0,0 +1,138 @@
+package com.playback;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import androidx.annotation.OptIn;
+import androidx.media3.common.C;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.test.utils.FakeMediaSource;
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.facebook.react.bridge.ReactApplicationContext;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@OptIn(markerClass = UnstableApi.class)
+@RunWith(AndroidJUnit4.class)
+public class CodecBudgetTest {
+  private ReactApplicationContext context;
+  private final List<Player> created = new ArrayList<>();
+
+  @Before
+  public void setUp() {
+    context = new ReactApplicationContext(ApplicationProvider.getApplicationContext());
+  }
+
+  @After
+  public void tearDown() {
+    for (Player player : created) {
+      PlaybackModule.players.remove(player.playerId);
+      player.dispose();
+    }
+    PlayerPool.clear();
+    CodecBudget.setMaxVideoDecoders(CodecBudget.FALLBACK_MAX_VIDEO_DECODERS);
+    ShadowLooper.idleMainLooper();
+  }
+
+  private Player createPlayer(String playerId, boolean withMedia) {
+    Player player = new Player(context, playerId, BufferProfile.DEFAULT, false, false, () -> {});
+    if (withMedia)
+      player.player.setMediaSource(new FakeMediaSource());
+    PlaybackModule.players.put(playerId, player);
+    created.add(player);
+    return player;
+  }
+
+  private static boolean isVideoDisabled(Player player) {
+    return player.player.getTrackSelectionParameters().disabledTrackTypes.contains(C.TRACK_TYPE_VIDEO);
+  }
+
+  private int countLimited() {
+    int limited = 0;
+    for (Player player : created) {
+      if (player.isVideoBudgetLimited())
+        limited++;
+    }
+    return limited;
+  }
+
+  @Test
+  public void playersBeyondTheBudgetLoseTheirVideoTrack() {
+    createPlayer("first", true);
+    createPlayer("second", true);
+    createPlayer("third", true);
+
+    CodecBudget.setMaxVideoDecoders(1);
+    ShadowLooper.idleMainLooper();
+
+    assertEquals(2, countLimited());
+    for (Player player : created)
+      assertEquals(player.isVideoBudgetLimited(), isVideoDisabled(player));
+  }
+
+  @Test
+  public void playingPlayerKeepsTheDecoder() throws InterruptedException {
+    createPlayer("first", true);
+    Player playing = createPlayer("second", true);
+    createPlayer("third", true);
+    playing.player.prepare();
+    playing.play();
+    TestLoopers.runMainLooperUntil(playing.player::isPlaying);
+
+    CodecBudget.setMaxVideoDecoders(1);
+    ShadowLooper.idleMainLooper();
+
+    assertFalse(playing.isVideoBudgetLimited());
+    assertEquals(2, countLimited());
+  }
+
+  @Test
+  public void playersWithoutMediaDoNotCountAgainstTheBudget() {
+    Player empty = createPlayer("empty", false);
+    Player loaded = createPlayer("loaded", true);
+
+    CodecBudget.setMaxVideoDecoders(1);
+    ShadowLooper.idleMainLooper();
+
+    assertFalse(empty.isVideoBudgetLimited());
+    assertFalse(loaded.isVideoBudgetLimited());
+  }
+
+  @Test
+  public void raisingTheBudgetRestoresVideo() {
+    createPlayer("first", true);
+    createPlayer("second", true);
+    CodecBudget.setMaxVideoDecoders(1);
+    ShadowLooper.idleMainLooper();
+    assertEquals(1, countLimited());
+
+    CodecBudget.setMaxVideoDecoders(2);
+    ShadowLooper.idleMainLooper();
+
+    assertEquals(0, countLimited());
+    for (Player player : created)
+      assertFalse(isVideoDisabled(player));
+  }
+
+  @Test
+  public void zeroMeansUnlimited() {
+    createPlayer("first", true);
+    createPlayer("second", true);
+
+    CodecBudget.setMaxVideoDecoders(0);
+    ShadowLooper.idleMainLooper();
+
+    assertEquals(0, countLimited());
+    assertTrue(created.size() > 1);
+  }
+}
@@ -0,0 +1,74 @@
+package com.playback;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+public class EventRegistryTest {
+  @Before
+  public void setUp() {
+    EventRegistry.clear();
+  }
+
+  @After
+  public void tearDown() {
+    EventRegistry.clear();
+  }
+
+  @Test
+  public void nothingIsSubscribedWithoutListeners() {
+    assertFalse(EventRegistry.isSubscribed("player", "ON_PROGRESS"));
+    assertNull(EventRegistry.createEvent("player", "ON_PROGRESS"));
+  }
+
+  @Test
+  public void playersWithoutSubscriptionsReceiveEveryEvent() {
+    EventRegistry.addListener();
+    assertTrue(EventRegistry.isSubscribed("player", "ON_PROGRESS"));
+    assertTrue(EventRegistry.isSubscribed("player", "ON_ERROR"));
+  }
+
+  @Test
+  public void subscriptionsFilterEventTypes() {
+    EventRegistry.addListener();
+    EventRegistry.setSubscriptions("player", Arrays.asList("ON_ERROR", "ON_END"));
+
+    assertTrue(EventRegistry.isSubscribed("player", "ON_ERROR"));
+    assertFalse(EventRegistry.isSubscribed("player", "ON_PROGRESS"));
+    assertNull(EventRegistry.createEvent("player", "ON_PROGRESS"));
+    assertTrue(EventRegistry.isSubscribed("other", "ON_PROGRESS"));
+  }
+
+  @Test
+  public void emptySubscriptionsSilenceThePlayer() {
+    EventRegistry.addListener();
+    EventRegistry.setSubscriptions("player", Collections.emptyList());
+    assertFalse(EventRegistry.isSubscribed("player", "ON_ERROR"));
+  }
+
+  @Test
+  public void removeRestoresTheDefault() {
+    EventRegistry.addListener();
+    EventRegistry.setSubscriptions("player", Collections.emptyList());
+    EventRegistry.remove("player");
+    assertTrue(EventRegistry.isSubscribed("player", "ON_ERROR"));
+  }
+
+  @Test
+  public void removeListenersNeverGoesNegative() {
+    EventRegistry.removeListeners(3);
+    EventRegistry.addListener();
+    assertTrue(EventRegistry.isSubscribed("player", "ON_ERROR"));
+
+    EventRegistry.addListener();
+    EventRegistry.removeListeners(2);
+    assertFalse(EventRegistry.isSubscribed("player", "ON_ERROR"));
+  }
+}
@@ -0,0 +1,64 @@
+package com.playback;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class FadeCurveTest {
+  private static final float EPSILON = 0.0001f;
+
+  @Test
+  public void fromStringDefaultsToLinear() {
+    assertSame(FadeCurve.LINEAR, FadeCurve.fromString(null));
+    assertSame(FadeCurve.LINEAR, FadeCurve.fromString("linear"));
+    assertSame(FadeCurve.EXPONENTIAL, FadeCurve.fromString("exponential"));
+    assertSame(FadeCurve.EQUAL_POWER, FadeCurve.fromString("equalPower"));
+  }
+
+  @Test
+  public void fromStringRejectsUnknownNames() {
+    assertThrows(IllegalArgumentException.class, () -> FadeCurve.fromString("cubic"));
+  }
+
+  @Test
+  public void everyCurveStartsAndEndsAtItsBounds() {
+    for (FadeCurve curve : FadeCurve.values()) {
+      assertEquals(0.2f, curve.gain(0, 0.2f, 0.8f), EPSILON);
+      assertEquals(0.8f, curve.gain(1, 0.2f, 0.8f), EPSILON);
+      assertEquals(1f, curve.gain(0, 1, 0), EPSILON);
+      assertEquals(0f, curve.gain(1, 1, 0), EPSILON);
+    }
+  }
+
+  @Test
+  public void progressIsClamped() {
+    for (FadeCurve curve : FadeCurve.values()) {
+      assertEquals(0f, curve.gain(-1, 0, 1), EPSILON);
+      assertEquals(1f, curve.gain(2, 0, 1), EPSILON);
+    }
+  }
+
+  @Test
+  public void linearIsProportional() {
+    assertEquals(0.25f, FadeCurve.LINEAR.gain(0.25, 0, 1), EPSILON);
+    assertEquals(0.75f, FadeCurve.LINEAR.gain(0.25, 1, 0), EPSILON);
+  }
+
+  @Test
+  public void exponentialRisesSlowlyAndFallsQuickly() {
+    assertTrue(FadeCurve.EXPONENTIAL.gain(0.5, 0, 1) < 0.5f);
+    assertTrue(FadeCurve.EXPONENTIAL.gain(0.5, 1, 0) < 0.5f);
+  }
+
+  @Test
+  public void equalPowerKeepsCrossfadePowerConstant() {
+    for (double progress = 0; progress <= 1; progress += 0.1) {
+      float in = FadeCurve.EQUAL_POWER.gain(progress, 0, 1);
+      float out = FadeCurve.EQUAL_POWER.gain(progress, 1, 0);
+      assertEquals(1f, in * in + out * out, 0.001f);
+    }
+  }
+}
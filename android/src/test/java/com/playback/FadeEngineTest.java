@@ -0,0 +1,109 @@
+package com.playback;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import android.os.SystemClock;
+
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@RunWith(AndroidJUnit4.class)
+public class FadeEngineTest {
+  private final FakeTarget target = new FakeTarget();
+  private final List<String> ends = new ArrayList<>();
+
+  private static class FakeTarget implements FadeTarget {
+    float volume = 1;
+
+    @Override
+    public void applyFadeVolume(float volume) {
+      this.volume = volume;
+    }
+
+    @Override
+    public float getAppliedVolume() {
+      return volume;
+    }
+  }
+
+  @After
+  public void tearDown() {
+    FadeEngine.cancel(target);
+  }
+
+  private void start(float from, float to, long durationMs, long startTimeMs) {
+    FadeEngine.start(target, from, to, durationMs, FadeCurve.LINEAR, startTimeMs, (volume, cancelled) -> ends.add(volume + (cancelled ? " cancelled" : "")));
+  }
+
+  @Test
+  public void tickAppliesGainFromStartTime() {
+    long now = FadeEngine.now();
+    start(0, 1, 100, now);
+    assertEquals(0f, target.volume, 0.001f);
+
+    FadeEngine.tick(now + 50);
+    assertEquals(0.5f, target.volume, 0.001f);
+    assertTrue(FadeEngine.isFading(target));
+
+    FadeEngine.tick(now + 100);
+    assertEquals(1f, target.volume, 0.001f);
+    assertFalse(FadeEngine.isFading(target));
+    assertEquals(1, ends.size());
+    assertEquals("1.0", ends.get(0));
+  }
+
+  @Test
+  public void fadeWaitsForAFutureStartTime() {
+    long now = FadeEngine.now();
+    target.volume = 0.3f;
+    start(1, 0, 100, now + 1000);
+    assertEquals(0.3f, target.volume, 0.001f);
+
+    FadeEngine.tick(now + 500);
+    assertEquals(0.3f, target.volume, 0.001f);
+  }
+
+  @Test
+  public void cancelReportsTheAppliedVolume() {
+    long now = FadeEngine.now();
+    start(0, 1, 100, now);
+    FadeEngine.tick(now + 25);
+
+    assertTrue(FadeEngine.cancel(target));
+    assertEquals("0.25 cancelled", ends.get(0));
+    assertFalse(FadeEngine.cancel(target));
+  }
+
+  @Test
+  public void startingAnotherFadeCancelsTheRunningOne() {
+    long now = FadeEngine.now();
+    start(0, 1, 100, now);
+    start(1, 0, 100, now);
+
+    assertEquals(1, ends.size());
+    assertTrue(ends.get(0).endsWith("cancelled"));
+    assertTrue(FadeEngine.isFading(target));
+  }
+
+  // The fade is driven by a Handler, not by display frames, so it finishes
+  // without any frame being drawn.
+  @Test
+  public void fadeCompletesFromTheMainLooperAlone() {
+    start(0, 1, 100, SystemClock.elapsedRealtime());
+    ShadowLooper.idleMainLooper(200, TimeUnit.MILLISECONDS);
+
+    assertEquals(1f, target.volume, 0.001f);
+    assertFalse(FadeEngine.isFading(target));
+    assertEquals(1, ends.size());
+  }
+}
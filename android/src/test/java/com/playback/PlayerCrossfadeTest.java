@@ -0,0 +1,94 @@
+package com.playback;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import androidx.annotation.OptIn;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.test.utils.FakeMediaSource;
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.facebook.react.bridge.ReactApplicationContext;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@OptIn(markerClass = UnstableApi.class)
+@RunWith(AndroidJUnit4.class)
+public class PlayerCrossfadeTest {
+  private Player outgoing;
+  private Player incoming;
+
+  @Before
+  public void setUp() {
+    ReactApplicationContext context = new ReactApplicationContext(ApplicationProvider.getApplicationContext());
+    outgoing = new Player(context, "outgoing", BufferProfile.DEFAULT, false, false, () -> {});
+    incoming = new Player(context, "incoming", BufferProfile.DEFAULT, false, false, () -> {});
+  }
+
+  @After
+  public void tearDown() {
+    outgoing.dispose();
+    incoming.dispose();
+    PlayerPool.clear();
+  }
+
+  private static void crossfade(Player from, Player to) throws InterruptedException {
+    AtomicBoolean started = new AtomicBoolean();
+    to.crossfadeFrom(from, 100, FadeCurve.LINEAR, new CrossfadeCallback() {
+      @Override
+      public void onStart() {
+        started.set(true);
+      }
+
+      @Override
+      public void onError(String code, String message) {
+        throw new AssertionError(code + ": " + message);
+      }
+    });
+    TestLoopers.runMainLooperUntil(started::get);
+    ShadowLooper.idleMainLooper(200, TimeUnit.MILLISECONDS);
+  }
+
+  @Test
+  public void crossfadeIntoNewPlayerFadesUpToFullVolume() throws InterruptedException {
+    outgoing.player.setMediaSource(new FakeMediaSource());
+    outgoing.player.prepare();
+    outgoing.play();
+    incoming.player.setMediaSource(new FakeMediaSource());
+
+    crossfade(outgoing, incoming);
+
+    assertFalse(FadeEngine.isFading(incoming));
+    assertEquals(1f, incoming.player.getVolume(), 0.001f);
+    assertTrue(incoming.player.getPlayWhenReady());
+    assertFalse(outgoing.player.getPlayWhenReady());
+    assertEquals(1f, outgoing.player.getVolume(), 0.001f);
+  }
+
+  @Test
+  public void crossfadeBackRestoresTheOriginalVolume() throws InterruptedException {
+    outgoing.setVolume(0.6);
+    outgoing.player.setMediaSource(new FakeMediaSource());
+    outgoing.player.prepare();
+    outgoing.play();
+    incoming.player.setMediaSource(new FakeMediaSource());
+
+    crossfade(outgoing, incoming);
+    crossfade(incoming, outgoing);
+
+    assertFalse(FadeEngine.isFading(outgoing));
+    assertTrue(outgoing.player.getPlayWhenReady());
+    assertEquals(0.6f, outgoing.player.getVolume(), 0.001f);
+    assertFalse(incoming.player.getPlayWhenReady());
+    assertEquals(1f, incoming.player.getVolume(), 0.001f);
+  }
+}
@@ -0,0 +1,105 @@
+package com.playback;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import android.content.Context;
+
+import androidx.annotation.OptIn;
+import androidx.media3.common.C;
+import androidx.media3.common.Player;
+import androidx.media3.common.TrackSelectionParameters;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.exoplayer.ExoPlayer;
+import androidx.media3.exoplayer.SeekParameters;
+import androidx.media3.test.utils.FakeMediaSource;
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+@OptIn(markerClass = UnstableApi.class)
+@RunWith(AndroidJUnit4.class)
+public class PlayerPoolTest {
+  private Context context;
+
+  @Before
+  public void setUp() {
+    context = ApplicationProvider.getApplicationContext();
+    PlayerPool.clear();
+  }
+
+  @After
+  public void tearDown() {
+    PlayerPool.setMaxSize(PlayerPool.DEFAULT_MAX_SIZE);
+    PlayerPool.clear();
+  }
+
+  @Test
+  public void recycleResetsPlayerState() {
+    ExoPlayer player = PlayerPool.build(context, BufferProfile.DEFAULT);
+    player.setMediaSource(new FakeMediaSource());
+    player.setPlayWhenReady(true);
+    player.setRepeatMode(Player.REPEAT_MODE_ALL);
+    player.setVolume(0.2f);
+    player.setSeekParameters(SeekParameters.CLOSEST_SYNC);
+    player.setTrackSelectionParameters(
+      player.getTrackSelectionParameters().buildUpon()
+        .setMaxVideoSize(640, 360)
+        .setMaxVideoBitrate(500000)
+        .setTrackTypeDisabled(C.TRACK_TYPE_VIDEO, true)
+        .setAudioOffloadPreferences(
+          new TrackSelectionParameters.AudioOffloadPreferences.Builder()
+            .setAudioOffloadMode(TrackSelectionParameters.AudioOffloadPreferences.AUDIO_OFFLOAD_MODE_ENABLED)
+            .build()
+        )
+        .build()
+    );
+
+    PlayerPool.recycle(player);
+
+    assertEquals(0, player.getMediaItemCount());
+    assertFalse(player.getPlayWhenReady());
+    assertEquals(Player.REPEAT_MODE_OFF, player.getRepeatMode());
+    assertEquals(1f, player.getVolume(), 0.001f);
+    assertEquals(SeekParameters.DEFAULT, player.getSeekParameters());
+    TrackSelectionParameters parameters = player.getTrackSelectionParameters();
+    assertEquals(Integer.MAX_VALUE, parameters.maxVideoWidth);
+    assertEquals(Integer.MAX_VALUE, parameters.maxVideoHeight);
+    assertEquals(Integer.MAX_VALUE, parameters.maxVideoBitrate);
+    assertFalse(parameters.disabledTrackTypes.contains(C.TRACK_TYPE_VIDEO));
+    assertEquals(TrackSelectionParameters.AudioOffloadPreferences.DEFAULT, parameters.audioOffloadPreferences);
+  }
+
+  @Test
+  public void acquireReusesRecycledPlayers() {
+    ExoPlayer player = PlayerPool.build(context, BufferProfile.DEFAULT);
+    PlayerPool.recycle(player);
+
+    assertSame(player, PlayerPool.acquire(context));
+    ExoPlayer next = PlayerPool.acquire(context);
+    assertNotSame(player, next);
+    next.release();
+    player.release();
+  }
+
+  @Test
+  public void recycleReleasesPlayersBeyondMaxSize() {
+    PlayerPool.setMaxSize(1);
+    ExoPlayer kept = PlayerPool.build(context, BufferProfile.DEFAULT);
+    ExoPlayer released = PlayerPool.build(context, BufferProfile.DEFAULT);
+    PlayerPool.recycle(kept);
+    PlayerPool.recycle(released);
+
+    assertSame(kept, PlayerPool.acquire(context));
+    ExoPlayer next = PlayerPool.acquire(context);
+    assertNotSame(released, next);
+    next.release();
+    kept.release();
+  }
+}
@@ -0,0 +1,94 @@
+package com.playback;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import androidx.annotation.OptIn;
+import androidx.media3.common.util.UnstableApi;
+import androidx.media3.exoplayer.SeekParameters;
+import androidx.media3.test.utils.FakeMediaSource;
+import androidx.test.core.app.ApplicationProvider;
+import androidx.test.ext.junit.runners.AndroidJUnit4;
+
+import com.facebook.react.bridge.JavaOnlyMap;
+import com.facebook.react.bridge.ReactApplicationContext;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+@OptIn(markerClass = UnstableApi.class)
+@RunWith(AndroidJUnit4.class)
+public class PlayerSeekTest {
+  private Player player;
+
+  @Before
+  public void setUp() throws InterruptedException {
+    ReactApplicationContext context = new ReactApplicationContext(ApplicationProvider.getApplicationContext());
+    player = new Player(context, "seek", BufferProfile.DEFAULT, false, false, () -> {});
+    player.player.setMediaSource(new FakeMediaSource());
+    player.player.prepare();
+    TestLoopers.runMainLooperUntil(() -> player.player.getPlaybackState() == androidx.media3.common.Player.STATE_READY);
+  }
+
+  @After
+  public void tearDown() {
+    player.dispose();
+    PlayerPool.clear();
+  }
+
+  private AtomicReference<Boolean> seek(double time, boolean scrubbing) {
+    AtomicReference<Boolean> result = new AtomicReference<>();
+    player.seek(JavaOnlyMap.of("time", time, "scrubbing", scrubbing), result::set);
+    return result;
+  }
+
+  @Test
+  public void scrubbingKeepsOnlyTheLatestQueuedTarget() throws InterruptedException {
+    AtomicReference<Boolean> first = seek(1, true);
+    AtomicReference<Boolean> second = seek(2, true);
+    AtomicReference<Boolean> third = seek(3, true);
+
+    assertEquals(false, second.get());
+    assertNull(third.get());
+    TestLoopers.runMainLooperUntil(() -> third.get() != null);
+
+    assertEquals(true, first.get());
+    assertEquals(true, third.get());
+    assertEquals(3000, player.player.getCurrentPosition());
+  }
+
+  @Test
+  public void newSeekSupersedesTheActiveOne() throws InterruptedException {
+    AtomicReference<Boolean> first = seek(1, false);
+    AtomicReference<Boolean> second = seek(2, false);
+
+    assertEquals(false, first.get());
+    TestLoopers.runMainLooperUntil(() -> second.get() != null);
+
+    assertEquals(true, second.get());
+    assertEquals(2000, player.player.getCurrentPosition());
+  }
+
+  @Test
+  public void seekToTheCurrentPositionDoesNotSeek() {
+    AtomicReference<Boolean> result = seek(0, false);
+    assertEquals(false, result.get());
+  }
+
+  @Test
+  public void seekAppliesModeAndTolerance() throws InterruptedException {
+    AtomicReference<Boolean> result = new AtomicReference<>();
+    player.seek(JavaOnlyMap.of("time", 1.0, "mode", "previousSync"), result::set);
+    TestLoopers.runMainLooperUntil(() -> result.get() != null);
+    assertEquals(SeekParameters.PREVIOUS_SYNC, player.player.getSeekParameters());
+
+    result.set(null);
+    player.seek(JavaOnlyMap.of("time", 2.0, "tolerance", 0.5), result::set);
+    TestLoopers.runMainLooperUntil(() -> result.get() != null);
+    assertEquals(new SeekParameters(500000, 500000), player.player.getSeekParameters());
+  }
+}
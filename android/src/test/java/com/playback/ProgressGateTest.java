@@ -0,0 +1,57 @@
+package com.playback;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Test;
+
+public class ProgressGateTest {
+  @Test
+  public void disabledIntervalIsNeverDue() {
+    ProgressGate gate = new ProgressGate();
+    assertFalse(gate.isDue(10000, 0, 0));
+    assertFalse(gate.isDue(10000, -1, 0));
+  }
+
+  @Test
+  public void markIfDueWaitsForTheInterval() {
+    ProgressGate gate = new ProgressGate();
+    assertTrue(gate.markIfDue(1000, 250, 0));
+    assertFalse(gate.markIfDue(1100, 250, 0));
+    assertTrue(gate.markIfDue(1250, 250, 0));
+  }
+
+  @Test
+  public void toleranceLetsTicksFireSlightlyEarly() {
+    ProgressGate gate = new ProgressGate();
+    gate.markIfDue(1000, 250, 0);
+    assertFalse(gate.isDue(1240, 250, 5));
+    assertTrue(gate.isDue(1245, 250, 5));
+  }
+
+  @Test
+  public void markIfChangedSkipsUnchangedSnapshots() {
+    ProgressGate gate = new ProgressGate();
+    assertTrue(gate.markIfChanged(1000, 0, 5000));
+    assertFalse(gate.markIfChanged(1250, 0, 5000));
+    assertTrue(gate.markIfChanged(1500, 250, 5000));
+    assertTrue(gate.markIfChanged(1750, 250, 6000));
+  }
+
+  @Test
+  public void markIfChangedRestartsTheInterval() {
+    ProgressGate gate = new ProgressGate();
+    gate.markIfDue(1000, 250, 0);
+    gate.markIfChanged(1200, 100, 5000);
+    assertFalse(gate.isDue(1250, 250, 0));
+    assertTrue(gate.isDue(1450, 250, 0));
+  }
+
+  @Test
+  public void resetForgetsTheLastSnapshot() {
+    ProgressGate gate = new ProgressGate();
+    gate.markIfChanged(1000, 100, 5000);
+    gate.reset();
+    assertTrue(gate.markIfChanged(1000, 100, 5000));
+  }
+}
@@ -0,0 +1,55 @@
+package com.playback;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Collections;
+
+public class ProgressTrackerTest {
+  private final ProgressTracker tracker = new ProgressTracker();
+
+  @Before
+  public void setUp() {
+    EventRegistry.clear();
+    EventRegistry.addListener();
+  }
+
+  @After
+  public void tearDown() {
+    EventRegistry.clear();
+  }
+
+  @Test
+  public void intervalIsNeverNegative() {
+    assertEquals(ProgressScheduler.DEFAULT_INTERVAL_MS, tracker.getIntervalMs());
+    tracker.setIntervalMs(-5);
+    assertEquals(0, tracker.getIntervalMs());
+  }
+
+  @Test
+  public void pausedPlayersReportNothing() {
+    assertNull(tracker.poll("player", 1000, 0, false, 500, 5000));
+  }
+
+  @Test
+  public void disabledIntervalReportsNothing() {
+    tracker.setIntervalMs(0);
+    assertNull(tracker.poll("player", 1000, 0, true, 500, 5000));
+  }
+
+  @Test
+  public void unsubscribedPlayersReportNothing() {
+    EventRegistry.setSubscriptions("player", Collections.singletonList("ON_END"));
+    assertNull(tracker.poll("player", 1000, 0, true, 500, 5000));
+  }
+
+  @Test
+  public void progressWaitsForTheInterval() {
+    tracker.setIntervalMs(250);
+    assertNull(tracker.poll("player", 100, 0, true, 500, 5000));
+  }
+}
@@ -0,0 +1,22 @@
+package com.playback;
+
+import static org.junit.Assert.assertTrue;
+
+import org.robolectric.shadows.ShadowLooper;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.BooleanSupplier;
+
+// ExoPlayer runs on the real playback thread, so the main looper is advanced
+// in small steps to let its delayed work and callbacks through.
+final class TestLoopers {
+  private TestLoopers() {}
+
+  static void runMainLooperUntil(BooleanSupplier condition) throws InterruptedException {
+    for (int i = 0; i < 500 && !condition.getAsBoolean(); i++) {
+      ShadowLooper.idleMainLooper(10, TimeUnit.MILLISECONDS);
+      Thread.sleep(1);
+    }
+    assertTrue(condition.getAsBoolean());
+  }
+}
@@ -0,0 +1,12 @@
+import { Platform } from 'react-native';
+import Module from './module';
+
+export type BandwidthEstimate = {
+  bitrateEstimate: number;
+  networkType: number;
+};
+
+export async function getBandwidthEstimate(): Promise<BandwidthEstimate | null> {
+  if (Platform.OS !== 'android') return null;
+  return await Module.getBandwidthEstimate();
+}
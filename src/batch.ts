@@ -0,0 +1,41 @@
+import { Platform } from 'react-native';
+import Module from './module';
+
+export type BatchCommand = {
+  playerId: string;
+  op:
+    | 'play'
+    | 'pause'
+    | 'setSource'
+    | 'setVolume'
+    | 'setLoop'
+    | 'seek'
+    | 'fadeVolume'
+    | 'enqueue'
+    | 'skipTo'
+    | 'setProgressInterval'
+    | 'setBufferProfile';
+  args?: any[];
+};
+
+export type BatchResult = {
+  ok: boolean;
+  error?: string;
+};
+
+export async function executeBatch(
+  commands: BatchCommand[]
+): Promise<BatchResult[]> {
+  if (!Array.isArray(commands) || commands.length === 0) return [];
+  if (Platform.OS === 'android') return await Module.executeBatch(commands);
+  const results: BatchResult[] = [];
+  for (const command of commands) {
+    try {
+      await Module[command.op](command.playerId, ...(command.args || []));
+      results.push({ ok: true });
+    } catch (err: any) {
+      results.push({ ok: false, error: err?.code || 'E_COMMAND_FAILED' });
+    }
+  }
+  return results;
+}
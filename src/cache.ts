@@ -0,0 +1,27 @@
+import { Platform } from 'react-native';
+import Module from './module';
+
+export type CacheConfig = {
+  maxSize?: number;
+  evictionPolicy?: 'lru' | 'none';
+};
+
+export type CacheInfo = {
+  size: number;
+  maxSize: number;
+};
+
+export async function configureCache(config: CacheConfig) {
+  if (Platform.OS !== 'android' || !config) return;
+  await Module.configureCache(config);
+}
+
+export async function getCacheInfo(): Promise<CacheInfo> {
+  if (Platform.OS !== 'android') return { size: 0, maxSize: 0 };
+  return await Module.getCacheInfo();
+}
+
+export async function clearCache() {
+  if (Platform.OS !== 'android') return;
+  await Module.clearCache();
+}
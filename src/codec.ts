@@ -0,0 +1,7 @@
+import { Platform } from 'react-native';
+import Module from './module';
+
+export async function setMaxVideoDecoders(max: number) {
+  if (Platform.OS !== 'android' || typeof max !== 'number') return;
+  await Module.setMaxVideoDecoders(max);
+}
@@ -0,0 +1,30 @@
+import { Platform } from 'react-native';
+import Module from './module';
+import type Player from './player';
+import type { FadeCurve } from './player';
+
+export type CrossfadeOptions = {
+  durationMs: number;
+  curve?: FadeCurve;
+};
+
+export async function crossfade(
+  from: Player,
+  to: Player,
+  options: CrossfadeOptions
+) {
+  if (!from.getId() || !to.getId() || !(options.durationMs > 0)) return;
+  if (Platform.OS === 'android') {
+    await Module.crossfade(
+      from.getId(),
+      to.getId(),
+      options.durationMs,
+      options.curve || null
+    );
+    return;
+  }
+  const volume = to.getVolume();
+  to.fadeVolume({ volume, duration: options.durationMs / 1000, fromVolume: 0 });
+  to.play();
+  from.fadeVolume({ volume: 0, duration: options.durationMs / 1000 });
+}
@@ -0,0 +1,59 @@
+import { Platform } from 'react-native';
+import Module, { emitter } from './module';
+
+export type DownloadOptions = {
+  id?: string;
+  priority?: number;
+};
+
+export type DownloadState =
+  | 'queued'
+  | 'downloading'
+  | 'completed'
+  | 'failed'
+  | 'removing'
+  | 'restarting'
+  | 'stopped';
+
+export type Download = {
+  id: string;
+  url: string;
+  state: DownloadState;
+  percent: number;
+  bytesDownloaded: number;
+  contentLength: number;
+  priority: number;
+};
+
+export async function download(
+  url: string,
+  options: DownloadOptions = {}
+): Promise<string | null> {
+  if (Platform.OS !== 'android' || !url) return null;
+  return await Module.download(url, options);
+}
+
+export async function removeDownload(id: string) {
+  if (Platform.OS !== 'android' || !id) return;
+  await Module.removeDownload(id);
+}
+
+export async function getDownloads(): Promise<Download[]> {
+  if (Platform.OS !== 'android') return [];
+  return await Module.getDownloads();
+}
+
+export async function setMaxParallelDownloads(maxParallel: number) {
+  if (Platform.OS !== 'android' || typeof maxParallel !== 'number') return;
+  await Module.setMaxParallelDownloads(maxParallel);
+}
+
+export function addDownloadListener(
+  listener: (downloads: Download[]) => void
+): () => void {
+  if (Platform.OS !== 'android') return () => {};
+  const subscription = emitter.addListener('playbackDownloads', (data) => {
+    if (data && Array.isArray(data.downloads)) listener(data.downloads);
+  });
+  return () => subscription.remove();
+}
@@ -0,0 +1,61 @@
+import { Platform } from 'react-native';
+import type { EmitterSubscription } from 'react-native';
+import { emitter } from './module';
+
+type Handler = (eventData: any) => void;
+
+const eventHandlers = new Map<string, Handler>();
+const progressHandlers = new Map<string, Handler>();
+let eventSubscription: EmitterSubscription | null = null;
+let progressSubscription: EmitterSubscription | null = null;
+
+function removeSubscription(subscription: EmitterSubscription) {
+  // @ts-ignore
+  if (emitter.removeSubscription)
+    // @ts-ignore
+    emitter.removeSubscription(subscription);
+  else subscription.remove();
+}
+
+function onEvent(data: any) {
+  const handler = data && eventHandlers.get(data.playerId);
+  if (handler) handler(data);
+}
+
+function onProgress(data: any) {
+  if (!data || !Array.isArray(data.players)) return;
+  data.players.forEach((progress: any) => {
+    const handler = progress && progressHandlers.get(progress.playerId);
+    if (handler) handler(progress);
+  });
+}
+
+export function addEventHandler(playerId: string, handler: Handler) {
+  eventHandlers.set(playerId, handler);
+  if (!eventSubscription)
+    eventSubscription = emitter.addListener('playerEvent', onEvent);
+}
+
+export function removeEventHandler(playerId: string) {
+  eventHandlers.delete(playerId);
+  if (eventHandlers.size === 0 && eventSubscription) {
+    removeSubscription(eventSubscription);
+    eventSubscription = null;
+  }
+}
+
+// Batched progress is Android only; iOS sends progress through playerEvent.
+export function addProgressHandler(playerId: string, handler: Handler) {
+  if (Platform.OS !== 'android') return;
+  progressHandlers.set(playerId, handler);
+  if (!progressSubscription)
+    progressSubscription = emitter.addListener('playerProgress', onProgress);
+}
+
+export function removeProgressHandler(playerId: string) {
+  progressHandlers.delete(playerId);
+  if (progressHandlers.size === 0 && progressSubscription) {
+    removeSubscription(progressSubscription);
+    progressSubscription = null;
+  }
+}
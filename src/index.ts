@@ -1,8 +1,46 @@
-import Player from './player';
+import Player, { type PlayerOptions } from './player';
 
 export { default as Player } from './player';
+export type {
+  SourceType,
+  BufferProfile,
+  PlayerOptions,
+  VideoConstraints,
+  PlaybackMetrics,
+  FadeCurve,
+  SeekMode,
+} from './player';
 export { default as VideoView } from './video';
+export type { SurfaceType } from './video';
+export { configureCache, getCacheInfo, clearCache } from './cache';
+export type { CacheConfig, CacheInfo } from './cache';
+export { preload, setMaxConcurrentPreloads } from './preload';
+export type { Preload, PreloadOptions } from './preload';
+export { setPlayerPoolSize, warmPlayerPool, setMaxHotPlayers } from './pool';
+export {
+  download,
+  removeDownload,
+  getDownloads,
+  setMaxParallelDownloads,
+  addDownloadListener,
+} from './downloads';
+export type { Download, DownloadOptions, DownloadState } from './downloads';
+export {
+  getThumbnails,
+  configureThumbnailCache,
+  clearThumbnails,
+} from './thumbnails';
+export type { ThumbnailOptions, ThumbnailCacheConfig } from './thumbnails';
+export { setMaxVideoDecoders } from './codec';
+export { getBandwidthEstimate } from './bandwidth';
+export { configureNetwork } from './network';
+export type { NetworkConfig } from './network';
+export { crossfade } from './crossfade';
+export type { CrossfadeOptions } from './crossfade';
+export { executeBatch } from './batch';
+export type { BatchCommand, BatchResult } from './batch';
+export type { BandwidthEstimate } from './bandwidth';
 
-export function createPlayer(onCreated?: () => any) {
-  return new Player(onCreated);
+export function createPlayer(onCreated?: () => any, options?: PlayerOptions) {
+  return new Player(onCreated, options);
 }
@@ -0,0 +1,12 @@
+import { Platform } from 'react-native';
+import Module from './module';
+
+export type NetworkConfig = {
+  connectTimeoutMs?: number;
+  readTimeoutMs?: number;
+};
+
+export async function configureNetwork(config: NetworkConfig) {
+  if (Platform.OS !== 'android' || !config) return;
+  await Module.configureNetwork(config);
+}
@@ -1,13 +1,91 @@
-import { Platform, type EmitterSubscription } from 'react-native';
-import Module, { emitter } from './module';
+import { Platform } from 'react-native';
+import Module from './module';
+import {
+  addEventHandler,
+  addProgressHandler,
+  removeEventHandler,
+  removeProgressHandler,
+} from './events';
 
 export type SourceType = {
+  id?: string;
   url: string;
+  loopStartMs?: number;
+  loopEndMs?: number;
   headers?: {
     [header: string]: string;
   };
 };
 
+export type BufferProfile = {
+  preset?: 'default' | 'lowLatencyStart' | 'memorySaver';
+  minBufferMs?: number;
+  maxBufferMs?: number;
+  bufferForPlaybackMs?: number;
+  bufferForPlaybackAfterRebufferMs?: number;
+  backBufferMs?: number;
+  targetBufferBytes?: number;
+  prioritizeTimeOverSize?: boolean;
+};
+
+export type VideoConstraints = {
+  maxBitrate?: number;
+  maxWidth?: number;
+  maxHeight?: number;
+};
+
+export type PlaybackMetrics = {
+  timeToFirstFrameMs: number;
+  joinLatencyMs: number;
+  rebufferCount: number;
+  rebufferDurationMs: number;
+  droppedFrames: number;
+  videoDecoderInitMs: number;
+  audioDecoderInitMs: number;
+  videoDecoderName: string | null;
+  audioDecoderName: string | null;
+  bitrateSwitches: number;
+  currentBitrate: number;
+  bandwidthSamples: number;
+  bandwidthEstimate: number;
+  bytesLoaded: number;
+};
+
+export type SeekMode = 'exact' | 'closestSync' | 'previousSync' | 'nextSync';
+
+export type FadeCurve = 'linear' | 'exponential' | 'equalPower';
+
+export type PlayerOptions = {
+  bufferProfile?: BufferProfile;
+  // Android only. Builds the player without video or text renderers.
+  audioOnly?: boolean;
+  // Android only. Lets the platform decode audio on the DSP when it can.
+  audioOffload?: boolean;
+};
+
+const nativeEventTypes: Record<string, string> = {
+  load: 'ON_LOAD',
+  error: 'ON_ERROR',
+  buffering: 'ON_BUFFERING',
+  timedMetadata: 'ON_TIMED_METADATA',
+  stalled: 'ON_STALLED',
+  play: 'ON_PLAY',
+  pause: 'ON_PAUSE',
+  progress: 'ON_PROGRESS',
+  end: 'ON_END',
+  seek: 'ON_SEEK',
+  mediaItemTransition: 'ON_MEDIA_ITEM_TRANSITION',
+  metrics: 'ON_METRICS',
+  fadeComplete: 'ON_FADE_COMPLETE',
+  videoDecoder: 'ON_VIDEO_DECODER',
+  visibilityChange: 'ON_VISIBILITY_CHANGE',
+  audioOffload: 'ON_AUDIO_OFFLOAD',
+  becomeNoisy: 'ON_BECOME_NOISY',
+  externalPlayer: 'ON_EXTERNAL_PLAYER',
+};
+
+const requiredNativeEventTypes = ['ON_PLAY', 'ON_PAUSE'];
+
 class Player {
   public type: string = 'direct';
 
@@ -17,11 +95,16 @@ class Player {
   private paused: boolean = false;
   private loop: boolean = false;
   private toggledPlayPause: boolean = false;
+  private currentTime: number = 0;
+  private duration: number = 0;
   private eventListeners: Record<string, Function[]> = {};
-  private nativeEventSubscription: EmitterSubscription | null = null;
+  private subscribedToNativeEvents: boolean = false;
+  private pendingNativeEventSync: boolean = false;
+  private options: PlayerOptions;
 
-  constructor(onCreated?: () => any) {
+  constructor(onCreated?: () => any, options: PlayerOptions = {}) {
     this.playerId = this.generateId();
+    this.options = options;
     (async () => {
       await this.mount();
       onCreated && onCreated();
@@ -29,23 +112,53 @@ class Player {
   }
 
   private removeNativeEventSubscription() {
-    if (this.nativeEventSubscription) {
-      // @ts-ignore
-      if (emitter.removeSubscription)
-        // @ts-ignore
-        emitter.removeSubscription(this.nativeEventSubscription);
-      else this.nativeEventSubscription.remove();
-    }
+    if (!this.subscribedToNativeEvents) return;
+    this.subscribedToNativeEvents = false;
+    removeEventHandler(this.playerId);
+    removeProgressHandler(this.playerId);
+  }
+
+  private syncNativeEventSubscriptions() {
+    if (
+      !this.playerId ||
+      Platform.OS !== 'android' ||
+      this.pendingNativeEventSync
+    )
+      return;
+    this.pendingNativeEventSync = true;
+    Promise.resolve().then(() => {
+      this.pendingNativeEventSync = false;
+      if (this.playerId) this.flushNativeEventSubscriptions();
+    });
+  }
+
+  private flushNativeEventSubscriptions() {
+    const eventTypes = [...requiredNativeEventTypes];
+    Object.keys(this.eventListeners).forEach((eventType) => {
+      const nativeEventType = nativeEventTypes[eventType];
+      if (
+        nativeEventType &&
+        this.eventListeners[eventType]!.length > 0 &&
+        eventTypes.indexOf(nativeEventType) === -1
+      )
+        eventTypes.push(nativeEventType);
+    });
+    Module.setEventSubscriptions(this.playerId, eventTypes);
   }
 
   private async mount() {
     try {
       if (!this.playerId) this.playerId = this.generateId();
-      this.nativeEventSubscription = emitter.addListener(
-        'playerEvent',
-        (data: any) => this.onNativeEvent(this.playerId, data)
+      const playerId = this.playerId;
+      addEventHandler(playerId, (data: any) =>
+        this.onNativeEvent(playerId, data)
       );
-      await Module.createPlayer(this.playerId);
+      addProgressHandler(playerId, (data: any) => this.onProgress(data));
+      this.subscribedToNativeEvents = true;
+      this.syncNativeEventSubscriptions();
+      if (Platform.OS === 'android')
+        await Module.createPlayer(this.playerId, this.options);
+      else await Module.createPlayer(this.playerId);
       this.emit('created');
     } catch (err) {
       this.removeNativeEventSubscription();
@@ -69,6 +182,7 @@ class Player {
       autoplay?: boolean;
       volume?: number;
       bufferSize?: number;
+      bufferProfile?: BufferProfile;
     }
   ) {
     if (!this.playerId || !data || !data.url) return;
@@ -77,13 +191,64 @@ class Player {
     if (typeof volume === 'number') this.volume = volume;
     this.paused = !autoplay;
     this.toggledPlayPause = false;
-    Module.setSource(this.playerId, data);
+    // Rejects with E_INVALID_BUFFER_PROFILE when bufferProfile is invalid.
+    return Module.setSource(this.playerId, data);
   }
 
   public getSource() {
     return this.source;
   }
 
+  public setQueue(
+    sources: SourceType[],
+    options: { startIndex?: number; autoplay?: boolean } = {}
+  ) {
+    if (!this.playerId || !Array.isArray(sources) || Platform.OS !== 'android')
+      return;
+    this.source = sources[options.startIndex || 0] || null;
+    this.paused = !options.autoplay;
+    this.toggledPlayPause = false;
+    // Rejects with E_INVALID_QUEUE when an item has no url.
+    return Module.setQueue(this.playerId, sources, options);
+  }
+
+  public enqueue(sources: SourceType[]) {
+    if (!this.playerId || !Array.isArray(sources) || Platform.OS !== 'android')
+      return;
+    return Module.enqueue(this.playerId, sources);
+  }
+
+  public removeAt(index: number) {
+    if (
+      !this.playerId ||
+      typeof index !== 'number' ||
+      Platform.OS !== 'android'
+    )
+      return;
+    Module.removeAt(this.playerId, index);
+  }
+
+  public skipTo(index: number) {
+    if (
+      !this.playerId ||
+      typeof index !== 'number' ||
+      Platform.OS !== 'android'
+    )
+      return;
+    Module.skipTo(this.playerId, index);
+  }
+
+  public moveItem(fromIndex: number, toIndex: number) {
+    if (
+      !this.playerId ||
+      typeof fromIndex !== 'number' ||
+      typeof toIndex !== 'number' ||
+      Platform.OS !== 'android'
+    )
+      return;
+    Module.moveItem(this.playerId, fromIndex, toIndex);
+  }
+
   public async play() {
     if (!this.playerId) return;
     this.paused = false;
@@ -118,11 +283,27 @@ class Player {
     Module.setLoop(this.playerId, loop);
   }
 
+  // The range only clips while looping. Changing it while looping re-prepares
+  // the current item, which can cause a short gap.
+  public setLoopRange(range: { startMs?: number; endMs?: number } | null) {
+    if (!this.playerId || Platform.OS !== 'android') return;
+    Module.setLoopRange(
+      this.playerId,
+      range?.startMs ?? 0,
+      range?.endMs ?? 0
+    );
+  }
+
   public getLoop() {
     return this.loop;
   }
 
-  public async seek(time: { time: number; tolerance?: number }): Promise<{
+  public async seek(time: {
+    time: number;
+    tolerance?: number;
+    mode?: SeekMode;
+    scrubbing?: boolean;
+  }): Promise<{
     seeked: boolean;
   }> {
     if (!this.playerId || !time || typeof time.time !== 'number')
@@ -131,26 +312,107 @@ class Player {
   }
 
   public setBufferSize(bytes: number) {
-    if (!this.playerId || Platform.OS !== 'ios') return;
-    Module.setBufferSize(this.playerId, bytes);
+    if (!this.playerId) return;
+    return Module.setBufferSize(this.playerId, bytes);
+  }
+
+  public setBufferProfile(profile: BufferProfile) {
+    if (!this.playerId || !profile || Platform.OS !== 'android') return;
+    // Rejects with E_INVALID_BUFFER_PROFILE.
+    return Module.setBufferProfile(this.playerId, profile);
+  }
+
+  public setProgressInterval(intervalMs: number) {
+    if (
+      !this.playerId ||
+      typeof intervalMs !== 'number' ||
+      Platform.OS !== 'android'
+    )
+      return;
+    Module.setProgressInterval(this.playerId, intervalMs);
+  }
+
+  public setMetricsInterval(intervalMs: number) {
+    if (
+      !this.playerId ||
+      typeof intervalMs !== 'number' ||
+      Platform.OS !== 'android'
+    )
+      return;
+    Module.setMetricsInterval(this.playerId, intervalMs);
+  }
+
+  public async getMetrics(): Promise<PlaybackMetrics | null> {
+    if (!this.playerId || Platform.OS !== 'android') return null;
+    return await Module.getMetrics(this.playerId);
+  }
+
+  public setVideoConstraints(constraints: VideoConstraints) {
+    if (!this.playerId || !constraints || Platform.OS !== 'android') return;
+    Module.setVideoConstraints(this.playerId, constraints);
   }
 
   public fadeVolume(fade: {
     volume: number;
     duration?: number;
     fromVolume?: number;
+    curve?: FadeCurve;
   }) {
     if (!this.playerId || typeof fade.volume !== 'number') return;
     if (!fade.duration || fade.duration < 0) fade.duration = 5;
     if (typeof fade.fromVolume !== 'number' || fade.fromVolume < 0)
       fade.fromVolume = this.getVolume();
     this.volume = this.volume;
-    Module.fadeVolume(
-      this.playerId,
-      fade.volume,
-      fade.duration,
-      fade.fromVolume
-    );
+    if (Platform.OS === 'android')
+      Module.fadeVolume(
+        this.playerId,
+        fade.volume,
+        fade.duration,
+        fade.fromVolume,
+        fade.curve || null
+      );
+    else
+      Module.fadeVolume(
+        this.playerId,
+        fade.volume,
+        fade.duration,
+        fade.fromVolume
+      );
+  }
+
+  public getCurrentTime(): number {
+    if (!this.playerId) return 0;
+    if (Platform.OS === 'android') return Module.getCurrentTime(this.playerId);
+    return this.currentTime;
+  }
+
+  public getBufferedPosition(): number {
+    if (!this.playerId || Platform.OS !== 'android') return 0;
+    return Module.getBufferedPosition(this.playerId);
+  }
+
+  public getDuration(): number {
+    if (!this.playerId) return 0;
+    if (Platform.OS === 'android') return Module.getDuration(this.playerId);
+    return this.duration;
+  }
+
+  public isPlaying(): boolean {
+    if (!this.playerId) return false;
+    if (Platform.OS === 'android') return Module.isPlaying(this.playerId);
+    return !this.paused;
+  }
+
+  private updateTime(eventData: any) {
+    if (typeof eventData.currentTime === 'number')
+      this.currentTime = eventData.currentTime;
+    if (typeof eventData.duration === 'number')
+      this.duration = eventData.duration;
+  }
+
+  private onProgress(eventData: any) {
+    this.updateTime(eventData);
+    this.emit('progress', eventData);
   }
 
   private generateId() {
@@ -163,6 +425,7 @@ class Player {
     if (!eventType || eventData.playerId !== thisPlayerId) return;
     switch (data.eventType) {
       case 'ON_LOAD':
+        this.updateTime(eventData);
         this.emit('load', eventData);
         return;
       case 'ON_ERROR':
@@ -188,7 +451,7 @@ class Player {
         this.emit('pause', eventData);
         return;
       case 'ON_PROGRESS':
-        this.emit('progress', eventData);
+        this.onProgress(eventData);
         return;
       case 'ON_END':
         this.emit('end', eventData);
@@ -196,6 +459,25 @@ class Player {
       case 'ON_SEEK':
         this.emit('seek', eventData);
         return;
+      case 'ON_MEDIA_ITEM_TRANSITION':
+        this.emit('mediaItemTransition', eventData);
+        return;
+      case 'ON_METRICS':
+        this.emit('metrics', eventData);
+        return;
+      case 'ON_VISIBILITY_CHANGE':
+        this.emit('visibilityChange', eventData);
+        return;
+      case 'ON_VIDEO_DECODER':
+        this.emit('videoDecoder', eventData);
+        return;
+      case 'ON_AUDIO_OFFLOAD':
+        this.emit('audioOffload', eventData);
+        return;
+      case 'ON_FADE_COMPLETE':
+        if (!eventData.cancelled) this.volume = eventData.volume;
+        this.emit('fadeComplete', eventData);
+        return;
       case 'ON_BECOME_NOISY':
         this.emit('becomeNoisy', eventData);
         return;
@@ -208,6 +490,7 @@ class Player {
   public on(eventType: string, callback: (eventData: any) => void) {
     if (!this.eventListeners[eventType]) this.eventListeners[eventType] = [];
     this.eventListeners[eventType]!.push(callback);
+    this.syncNativeEventSubscriptions();
   }
 
   public off(eventType: string, callback: (eventData: any) => void) {
@@ -216,10 +499,12 @@ class Player {
       const index = listeners.indexOf(callback);
       if (index !== -1) listeners.splice(index, 1);
     }
+    this.syncNativeEventSubscriptions();
   }
 
   public clearEvents() {
     this.eventListeners = {};
+    this.syncNativeEventSubscriptions();
   }
 
   private emit(eventType: string, eventData?: any) {
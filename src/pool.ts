@@ -0,0 +1,17 @@
+import { Platform } from 'react-native';
+import Module from './module';
+
+export async function setPlayerPoolSize(size: number) {
+  if (Platform.OS !== 'android' || typeof size !== 'number') return;
+  await Module.setPlayerPoolSize(size);
+}
+
+export async function warmPlayerPool(count: number) {
+  if (Platform.OS !== 'android' || typeof count !== 'number') return;
+  await Module.warmPlayerPool(count);
+}
+
+export async function setMaxHotPlayers(max: number) {
+  if (Platform.OS !== 'android' || typeof max !== 'number') return;
+  await Module.setMaxHotPlayers(max);
+}
@@ -0,0 +1,42 @@
+import { Platform } from 'react-native';
+import Module from './module';
+
+export type PreloadOptions = {
+  headers?: {
+    [header: string]: string;
+  };
+  bytes?: number;
+  priority?: number;
+};
+
+export type Preload = {
+  id: string;
+  promise: Promise<{ bytesCached: number }>;
+  cancel: () => Promise<boolean>;
+};
+
+function generateId() {
+  return new Date().getTime().toString() + Math.floor(Math.random() * 100);
+}
+
+// Progressive files only. Adaptive stream URLs (.m3u8, .mpd, .ism) reject
+// with E_PRELOAD_UNSUPPORTED, because only the manifest would be cached.
+export function preload(url: string, options: PreloadOptions = {}): Preload {
+  const id = generateId();
+  if (Platform.OS !== 'android' || !url)
+    return {
+      id,
+      promise: Promise.resolve({ bytesCached: 0 }),
+      cancel: async () => false,
+    };
+  return {
+    id,
+    promise: Module.preload(id, url, options),
+    cancel: async () => await Module.cancelPreload(id),
+  };
+}
+
+export async function setMaxConcurrentPreloads(maxConcurrent: number) {
+  if (Platform.OS !== 'android' || typeof maxConcurrent !== 'number') return;
+  await Module.setMaxConcurrentPreloads(maxConcurrent);
+}
@@ -0,0 +1,34 @@
+import { Platform } from 'react-native';
+import Module from './module';
+
+export type ThumbnailOptions = {
+  maxWidth?: number;
+  headers?: {
+    [header: string]: string;
+  };
+};
+
+export type ThumbnailCacheConfig = {
+  memoryBytes?: number;
+  diskBytes?: number;
+};
+
+export async function getThumbnails(
+  url: string,
+  timesMs: number[],
+  options: ThumbnailOptions = {}
+): Promise<(string | null)[]> {
+  if (!Array.isArray(timesMs)) return [];
+  if (Platform.OS !== 'android' || !url) return timesMs.map(() => null);
+  return await Module.getThumbnails(url, timesMs, options);
+}
+
+export async function configureThumbnailCache(config: ThumbnailCacheConfig) {
+  if (Platform.OS !== 'android' || !config) return;
+  await Module.configureThumbnailCache(config);
+}
+
+export async function clearThumbnails() {
+  if (Platform.OS !== 'android') return;
+  await Module.clearThumbnails();
+}
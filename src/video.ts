@@ -1,3 +1,4 @@
+import { createElement } from 'react';
 import { requireNativeComponent, UIManager, Platform } from 'react-native';
 import type { ImageProps, ViewProps } from 'react-native';
 
@@ -7,14 +8,41 @@ const LINKING_ERROR =
   '- You rebuilt the app after installing the package\n' +
   '- You are not using Expo Go\n';
 
-type VideoViewProps = {
+export type SurfaceType = 'surfaceView' | 'textureView';
+
+type NativeVideoViewProps = {
   playerId: string;
   resizeMode?: ImageProps['resizeMode'];
+  hiddenPolicy?: 'none' | 'pause' | 'disableVideo' | 'releaseSurface';
+  visibilityThreshold?: number;
   style?: ViewProps['style'];
 };
 
-export default UIManager.getViewManagerConfig('VideoView') != null
-  ? requireNativeComponent<VideoViewProps>('VideoView')
-  : () => {
-      throw new Error(LINKING_ERROR);
-    };
+type VideoViewProps = NativeVideoViewProps & {
+  // Android only. Fixed when the view is created; changing it remounts the
+  // native view.
+  surfaceType?: SurfaceType;
+};
+
+const NativeVideoView =
+  UIManager.getViewManagerConfig('VideoView') != null
+    ? requireNativeComponent<NativeVideoViewProps>('VideoView')
+    : null;
+
+const NativeTextureVideoView =
+  Platform.OS === 'android' &&
+  UIManager.getViewManagerConfig('TextureVideoView') != null
+    ? requireNativeComponent<NativeVideoViewProps>('TextureVideoView')
+    : null;
+
+export default function VideoView({
+  surfaceType,
+  ...props
+}: VideoViewProps) {
+  if (NativeVideoView == null) throw new Error(LINKING_ERROR);
+  const component =
+    surfaceType === 'textureView' && NativeTextureVideoView != null
+      ? NativeTextureVideoView
+      : NativeVideoView;
+  return createElement(component, props);
+}